@@ -0,0 +1,277 @@
+package com.innercircle.cache;
+
+import com.innercicle.cache.BucketRedisTemplate;
+import com.innercicle.cache.ConnectionShards;
+import com.innercicle.cache.ConsumeResult;
+import com.innercicle.cache.RedisScript;
+import com.innercicle.cache.StateLayout;
+import com.innercicle.cache.SyncScriptExecutor;
+import com.innercicle.cache.TokenInfoCodec;
+import com.innercicle.key.CacheKeyBuilder;
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.FixedWindowCounter;
+import com.innercicle.domain.RateUnit;
+import com.innercicle.domain.TokenBucketInfo;
+import com.innercircle.container.RedisTestContainer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lua 스크립트를 실제 Redis 에서 실행하여 알고리즘별 판단과 만료 시간을 확인한다.
+ */
+class BucketRedisTemplateTest extends RedisTestContainer {
+
+    /**
+     * 고정 윈도우 카운터 윈도우 크기 : window-size 1 * rate-unit 1초
+     */
+    private static final long WINDOW_MILLIS = 1_000L;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, String> stringConnection;
+    private RedisCommands<String, String> redis;
+    private BucketProperties bucketProperties;
+
+    @BeforeEach
+    void setUp() {
+        redisClient = RedisClient.create(RedisURI.create(REDIS_CONTAINER.getHost(), REDIS_CONTAINER.getMappedPort(6379)));
+        stringConnection = redisClient.connect(StringCodec.UTF8);
+        redis = stringConnection.sync();
+        bucketProperties = new BucketProperties();
+        bucketProperties.setRateUnit(RateUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringConnection.close();
+        redisClient.shutdown();
+    }
+
+    @Test
+    @DisplayName("GCRA : 버스트 허용량까지 연속 요청을 허용")
+    void testGcraAllowsBurstUpToCapacity() {
+        // given
+        BucketRedisTemplate template = template(StateLayout.BLOB, 3, 1);
+        String key = newKey();
+
+        // when
+        ConsumeResult first = template.consumeGcra(key, 1);
+        ConsumeResult second = template.consumeGcra(key, 1);
+        ConsumeResult third = template.consumeGcra(key, 1);
+
+        // then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getRemaining()).isEqualTo(2);
+        assertThat(second.isAllowed()).isTrue();
+        assertThat(third.isAllowed()).isTrue();
+        assertThat(third.getRemaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("GCRA : 버스트를 넘으면 거절하고, 배출 간격만큼 기다리도록 응답")
+    void testGcraRejectsWithRetryAfter() {
+        // given
+        BucketRedisTemplate template = template(StateLayout.BLOB, 3, 1); // 1초에 1개, 배출 간격 1초
+        String key = newKey();
+        template.consumeGcra(key, 3);
+
+        // when
+        ConsumeResult rejected = template.consumeGcra(key, 1);
+
+        // then
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRemaining()).isZero();
+        assertThat(rejected.getRetryAfterMillis()).isBetween(900L, 1_000L); // 다음 요청까지 남은 배출 간격
+    }
+
+    @Test
+    @DisplayName("GCRA : TAT 가 지나면 키가 만료되어 초기 상태로 돌아감")
+    void testGcraKeyExpiresAtTat() throws InterruptedException {
+        // given
+        BucketRedisTemplate template = template(StateLayout.BLOB, 3, 10); // 1초에 10개, 배출 간격 100ms
+        String key = newKey();
+
+        // when
+        template.consumeGcra(key, 1);
+        long ttl = redis.pttl(key);
+        Thread.sleep(300);
+
+        // then
+        assertThat(ttl).isBetween(1L, 100L); // TAT(요청 시각 + 배출 간격)까지만 유지
+        assertThat(redis.exists(key)).isZero();
+        assertThat(template.consumeGcra(key, 0).getRemaining()).isEqualTo(3); // 조회만 하면 키를 만들지 않음
+        assertThat(redis.exists(key)).isZero();
+    }
+
+    @Test
+    @DisplayName("고정 윈도우 카운터 : 윈도우 안에서 제한 수까지만 허용하고, 윈도우가 끝날 때까지 기다리도록 응답")
+    void testFixedWindowCounterLimit() throws InterruptedException {
+        // given
+        BucketRedisTemplate template = fixedWindowTemplate(3);
+        String key = newKey();
+        awaitWindowStart();
+
+        // when
+        ConsumeResult first = template.consumeFixedWindowCounter(key, 1);
+        ConsumeResult third = template.consumeFixedWindowCounter(key, 2);
+        ConsumeResult rejected = template.consumeFixedWindowCounter(key, 1);
+
+        // then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getRemaining()).isEqualTo(2);
+        assertThat(third.isAllowed()).isTrue();
+        assertThat(third.getRemaining()).isZero();
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRemaining()).isZero();
+        assertThat(rejected.getRetryAfterMillis()).isBetween(1L, WINDOW_MILLIS); // 현재 윈도우가 끝날 때까지
+        assertThat(redis.get(windowKey(key, System.currentTimeMillis()))).isEqualTo("3"); // 거절된 요청은 세지 않음
+    }
+
+    @Test
+    @DisplayName("고정 윈도우 카운터 : 다음 윈도우에서는 새 카운터로 다시 허용")
+    void testFixedWindowCounterBoundary() throws InterruptedException {
+        // given
+        BucketRedisTemplate template = fixedWindowTemplate(2);
+        String key = newKey();
+        awaitWindowStart();
+        template.consumeFixedWindowCounter(key, 2);
+        long previousWindow = System.currentTimeMillis();
+
+        // when
+        awaitWindowStart();
+        ConsumeResult next = template.consumeFixedWindowCounter(key, 1);
+
+        // then
+        assertThat(next.isAllowed()).isTrue();
+        assertThat(next.getRemaining()).isEqualTo(1);
+        assertThat(redis.get(windowKey(key, System.currentTimeMillis()))).isEqualTo("1");
+        assertThat(redis.exists(windowKey(key, previousWindow))).isZero(); // 이전 윈도우 키는 윈도우가 끝나면서 만료
+    }
+
+    @Test
+    @DisplayName("고정 윈도우 카운터 : 키는 윈도우가 끝나는 시점에 만료되고, 조회만 하면 키를 만들지 않음")
+    void testFixedWindowCounterExpiry() throws InterruptedException {
+        // given
+        BucketRedisTemplate template = fixedWindowTemplate(3);
+        String key = newKey();
+        awaitWindowStart();
+
+        // when
+        ConsumeResult peek = template.consumeFixedWindowCounter(key, 0);
+        boolean createdByPeek = redis.exists(windowKey(key, System.currentTimeMillis())) > 0;
+        template.consumeFixedWindowCounter(key, 1);
+        long now = System.currentTimeMillis();
+        long ttl = redis.pttl(windowKey(key, now));
+
+        // then
+        assertThat(peek.getRemaining()).isEqualTo(3);
+        assertThat(createdByPeek).isFalse();
+        assertThat(ttl).isBetween(1L, WINDOW_MILLIS - now % WINDOW_MILLIS); // 윈도우 끝까지 남은 시간 이하
+    }
+
+    @Test
+    @DisplayName("hash 저장 형식 : 필드별 해시로 저장하고, 만료 시간은 정책에서 정한 보관 시간")
+    void testHashSaveWritesFieldsWithPolicyTtl() {
+        // given
+        BucketRedisTemplate template = template(StateLayout.HASH, 5, 1);
+        String key = newKey();
+
+        // when
+        template.save(key, new TokenBucketInfo(bucketProperties, 3, 0));
+
+        // then
+        assertThat(redis.hget(key, "currentTokens")).isEqualTo("3");
+        assertThat(redis.hget(key, "capacity")).isEqualTo("5");
+        assertThat(redis.pttl(key)).isBetween(4_000L, bucketProperties.stateTtlMillis()); // 용량 5 * 1초
+        TokenBucketInfo read = (TokenBucketInfo)template.getOrDefault(key, TokenBucketInfo.class);
+        assertThat(read.getCurrentTokens()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("hash 저장 형식 : 저장된 값과 다른 필드만 기록")
+    void testHashSaveWritesOnlyChangedFields() {
+        // given
+        BucketRedisTemplate template = template(StateLayout.HASH, 5, 1);
+        String key = newKey();
+        TokenBucketInfo tokenBucketInfo = new TokenBucketInfo(bucketProperties, 3, 0);
+        template.save(key, tokenBucketInfo);
+        redis.hset(key, "capacity", "99"); // 다시 기록되면 덮어써지는 표시 값
+        redis.hset(key, "currentTokens", "4");
+
+        // when
+        List<Long> reply = redis.evalsha(RedisScript.HASH_SAVE.getSha(),
+                                         ScriptOutputType.MULTI,
+                                         new String[] {key},
+                                         "5000", "capacity", "99", "currentTokens", "3");
+
+        // then
+        assertThat(reply).containsExactly(1L); // currentTokens 하나만 기록
+        assertThat(redis.hget(key, "currentTokens")).isEqualTo("3");
+        assertThat(redis.hget(key, "capacity")).isEqualTo("99");
+        assertThat(redis.hget(key, "lastRefillTimestamp")).isNotNull(); // 인자에 없는 필드는 그대로 유지
+    }
+
+    @Test
+    @DisplayName("blob 저장 형식 : 값 전체를 정책에서 정한 보관 시간으로 저장")
+    void testBlobSaveUsesPolicyTtl() {
+        // given
+        BucketRedisTemplate template = template(StateLayout.BLOB, 5, 1);
+        String key = newKey();
+
+        // when
+        template.save(key, new TokenBucketInfo(bucketProperties, 2, 0));
+
+        // then
+        assertThat(redis.pttl(key)).isBetween(4_000L, bucketProperties.stateTtlMillis());
+        assertThat(template.getOrDefault(key, TokenBucketInfo.class).getRemaining()).isEqualTo(2);
+    }
+
+    private BucketRedisTemplate fixedWindowTemplate(int requestLimit) {
+        FixedWindowCounter fixedWindowCounter = new FixedWindowCounter();
+        fixedWindowCounter.setWindowSize(1);
+        fixedWindowCounter.setRequestLimit(requestLimit);
+        bucketProperties.setFixedWindowCounter(fixedWindowCounter);
+        return template(StateLayout.BLOB, requestLimit, 1);
+    }
+
+    /**
+     * 윈도우 경계를 넘는 도중에 판단하지 않도록, 다음 윈도우가 시작될 때까지 기다린다.
+     */
+    private static void awaitWindowStart() throws InterruptedException {
+        Thread.sleep(WINDOW_MILLIS - System.currentTimeMillis() % WINDOW_MILLIS + 10);
+    }
+
+    /**
+     * BucketRedisTemplate 과 같은 규칙(hash tag + 윈도우 번호)으로 만든 윈도우 카운터 키
+     */
+    private static String windowKey(String key, long now) {
+        return CacheKeyBuilder.withHashTag(key) + ':' + now / WINDOW_MILLIS;
+    }
+
+    private BucketRedisTemplate template(StateLayout stateLayout, int capacity, int rate) {
+        bucketProperties.setCapacity(capacity);
+        bucketProperties.setRate(rate);
+        return new BucketRedisTemplate(ConnectionShards.of(redisClient.connect(new TokenInfoCodec())),
+                                       ConnectionShards.of(stringConnection),
+                                       bucketProperties,
+                                       stateLayout,
+                                       new SyncScriptExecutor(stringConnection));
+    }
+
+    private static String newKey() {
+        return "bucket-test:" + UUID.randomUUID();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.innercircle.cache;
+
+import com.innercicle.cache.PipelinedScriptExecutor;
+import com.innercicle.cache.RedisScript;
+import com.innercircle.container.RedisTestContainer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelinedScriptExecutorTest extends RedisTestContainer {
+
+    private static final RedisScript SCRIPT = RedisScript.FIXED_WINDOW_COUNTER;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, String> adminConnection;
+
+    @BeforeEach
+    void setUp() {
+        redisClient = RedisClient.create(RedisURI.create(REDIS_CONTAINER.getHost(), REDIS_CONTAINER.getMappedPort(6379)));
+        adminConnection = redisClient.connect(StringCodec.UTF8);
+        adminConnection.sync().scriptLoad(SCRIPT.getSource()); // NOSCRIPT 재시도가 전송을 대신하지 않도록 미리 적재
+    }
+
+    @AfterEach
+    void tearDown() {
+        adminConnection.close();
+        redisClient.shutdown();
+    }
+
+    @Test
+    @DisplayName("명령이 batchSize 개 쌓이면 전송 주기를 기다리지 않고 전송")
+    void testFlushesWhenBatchIsFull() throws Exception {
+        // given
+        int batchSize = 4;
+        try (PipelinedScriptExecutor executor = new PipelinedScriptExecutor(redisClient.connect(StringCodec.UTF8), batchSize, Duration.ofHours(1));
+             ExecutorService threads = Executors.newFixedThreadPool(batchSize)) {
+
+            // when
+            List<Future<List<Long>>> replies = new ArrayList<>();
+            for (int i = 0; i < batchSize; i++) {
+                replies.add(threads.submit(() -> eval(executor)));
+            }
+
+            // then
+            for (Future<List<Long>> reply : replies) {
+                assertThat(reply.get(5, TimeUnit.SECONDS).get(0)).isEqualTo(1L); // 전송 주기(1시간)보다 먼저 응답
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("명령이 batchSize 개보다 적으면 전송 주기가 지나 전송")
+    void testFlushesAfterInterval() throws Exception {
+        // given
+        try (PipelinedScriptExecutor executor = new PipelinedScriptExecutor(redisClient.connect(StringCodec.UTF8), 1_000, Duration.ofMillis(10));
+             ExecutorService threads = Executors.newSingleThreadExecutor()) {
+
+            // when
+            Future<List<Long>> first = threads.submit(() -> eval(executor));
+            List<Long> firstReply = first.get(5, TimeUnit.SECONDS);
+            Thread.sleep(100); // 쌓인 명령이 없어 전송 스레드가 멈춘 뒤에도 다시 깨어나는지 확인
+            Future<List<Long>> second = threads.submit(() -> eval(executor));
+
+            // then
+            assertThat(firstReply.get(0)).isEqualTo(1L);
+            assertThat(second.get(5, TimeUnit.SECONDS).get(0)).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("서버에 스크립트가 없으면 EVAL 로 재시도")
+    void testRetriesWithEvalOnNoScript() throws Exception {
+        // given
+        adminConnection.sync().scriptFlush();
+        try (PipelinedScriptExecutor executor = new PipelinedScriptExecutor(redisClient.connect(StringCodec.UTF8), 1_000, Duration.ofMillis(10))) {
+
+            // when
+            List<Long> reply = eval(executor);
+
+            // then
+            assertThat(reply).containsExactly(1L, 9L, 0L);
+            assertThat(adminConnection.sync().scriptExists(SCRIPT.getSha())).containsExactly(true); // EVAL 로 다시 적재됨
+        }
+    }
+
+    /**
+     * 고정 윈도우 카운터 스크립트 : 제한 10, 윈도우 60초, 1개 요청
+     */
+    private List<Long> eval(PipelinedScriptExecutor executor) {
+        return executor.eval(SCRIPT, new String[] {"pipeline-test:" + UUID.randomUUID()}, "10", "60000", "1");
+    }
+
+}
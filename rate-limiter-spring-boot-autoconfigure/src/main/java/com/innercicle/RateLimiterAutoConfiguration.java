@@ -1,32 +1,42 @@
 package com.innercicle;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innercicle.aop.RateLimitAop;
+import com.innercicle.aop.RateLimitMethodRegistry;
 import com.innercicle.aop.RateLimitingProperties;
-import com.innercicle.cache.BucketRedisTemplate;
-import com.innercicle.cache.CacheTemplate;
+import com.innercicle.cache.*;
 import com.innercicle.domain.AbstractTokenInfo;
 import com.innercicle.domain.BucketProperties;
 import com.innercicle.handler.*;
+import com.innercicle.limiter.RateLimiter;
 import com.innercicle.lock.ConcurrentHashMapManager;
 import com.innercicle.lock.LockManager;
 import com.innercicle.lock.RedisRedissonManager;
+import com.innercicle.lock.StripedLockManager;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.ClientOptions;
 import io.lettuce.core.RedisClient;
-import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.codec.StringCodec;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
-import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 @Configuration
 public class RateLimiterAutoConfiguration {
@@ -43,42 +53,123 @@ public class RateLimiterAutoConfiguration {
     }
 
     @Bean
-    @ConditionalOnProperty(prefix = "rate-limiter", value = "cache-type", havingValue = "redis")
     public BucketProperties bucketProperties() {
         return new BucketProperties(); // 필요한 초기값 설정 가능
     }
 
+    /**
+     * spring.data.redis.cluster.nodes 가 있으면 클러스터 모드로 연결한다.
+     */
     @Bean
     @ConditionalOnProperty(prefix = "rate-limiter", value = "lock-type", havingValue = "redis_redisson")
     public RedissonClient redissonClient(RedisProperties redisProperties) {
-        String redisUri = String.format("redis://%s:%d", redisProperties.getHost(), redisProperties.getPort());
         Config config = new Config();
-        config.useSingleServer().setAddress(redisUri);
+        if (isCluster(redisProperties)) {
+            config.useClusterServers()
+                .addNodeAddress(redisProperties.getCluster().getNodes().stream().map(node -> "redis://" + node).toArray(String[]::new));
+        } else {
+            String redisUri = String.format("redis://%s:%d", redisProperties.getHost(), redisProperties.getPort());
+            config.useSingleServer().setAddress(redisUri);
+        }
         return Redisson.create(config);
     }
 
+    /**
+     * spring.data.redis.cluster.nodes 가 있으면 {@link RedisClusterClient}, 없으면 {@link RedisClient} 를 만든다. <br/>
+     * 명령 타임아웃(spring.data.redis.timeout)과 연결 타임아웃(spring.data.redis.connect-timeout)을 지정한 경우에만 적용한다.
+     */
     @Bean
     @ConditionalOnProperty(prefix = "rate-limiter", value = "cache-type", havingValue = "redis")
-    public RedisClient redisClient(RedisProperties redisProperties) {
-        String redisUri = String.format("redis://%s:%d", redisProperties.getHost(), redisProperties.getPort());
-        return RedisClient.create(redisUri);
+    public AbstractRedisClient redisClient(RedisProperties redisProperties) {
+        SocketOptions.Builder socketOptions = SocketOptions.builder();
+        if (redisProperties.getConnectTimeout() != null) {
+            socketOptions.connectTimeout(redisProperties.getConnectTimeout());
+        }
+        if (isCluster(redisProperties)) {
+            List<RedisURI> seeds = redisProperties.getCluster().getNodes().stream()
+                .map(node -> redisUri(RedisURI.create("redis://" + node), redisProperties))
+                .toList();
+            RedisClusterClient redisClusterClient = RedisClusterClient.create(seeds);
+            // 노드 추가, slot 이동(MOVED, ASK) 시 토폴로지를 다시 읽는다.
+            redisClusterClient.setOptions(ClusterClientOptions.builder()
+                                              .socketOptions(socketOptions.build())
+                                              .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                                                                          .enableAllAdaptiveRefreshTriggers()
+                                                                          .build())
+                                              .build());
+            return redisClusterClient;
+        }
+        RedisClient redisClient = RedisClient.create(redisUri(RedisURI.create(redisProperties.getHost(), redisProperties.getPort()), redisProperties));
+        redisClient.setOptions(ClientOptions.builder().socketOptions(socketOptions.build()).build());
+        return redisClient;
     }
 
     @Bean
-    @ConditionalOnBean({RedisClient.class})
+    @ConditionalOnBean({AbstractRedisClient.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "cache-type", havingValue = "redis")
-    public StatefulRedisConnection<String, AbstractTokenInfo> redisConnection(RedisClient redisClient) {
-        return redisClient.connect(new AbstractTokenInfoCodec());
+    public ConnectionShards<AbstractTokenInfo> redisConnections(AbstractRedisClient redisClient, RateLimitingProperties rateLimitingProperties) {
+        return ConnectionShards.connect(redisClient, new TokenInfoCodec(), rateLimitingProperties.getRedisConnections());
     }
 
+    /**
+     * 문자열 명령(Lua 스크립트, 해시 저장 형식)용 커넥션. KEYS, ARGV 는 모두 문자열이므로 {@link StringCodec} 을 사용한다.
+     */
     @Bean
-    @ConditionalOnBean({StatefulRedisConnection.class, BucketProperties.class})
+    @ConditionalOnBean({AbstractRedisClient.class})
+    @ConditionalOnProperty(prefix = "rate-limiter", value = "cache-type", havingValue = "redis")
+    public ConnectionShards<String> redisStringConnections(AbstractRedisClient redisClient, RateLimitingProperties rateLimitingProperties) {
+        return ConnectionShards.connect(redisClient, StringCodec.UTF8, rateLimitingProperties.getRedisConnections());
+    }
+
+    @Bean
+    @ConditionalOnBean({AbstractRedisClient.class})
+    @ConditionalOnProperty(prefix = "rate-limiter", value = "script-executor", havingValue = "sync", matchIfMissing = true)
+    public ScriptExecutor syncScriptExecutor(AbstractRedisClient redisClient,
+                                             ConnectionShards<String> redisStringConnections,
+                                             RateLimitingProperties rateLimitingProperties) {
+        if (rateLimitingProperties.isRedisDedicatedScriptConnections()) {
+            return new SyncScriptExecutor(ConnectionShards.connect(redisClient, StringCodec.UTF8, rateLimitingProperties.getRedisConnections()), true);
+        }
+        return new SyncScriptExecutor(redisStringConnections, false);
+    }
+
+    /**
+     * 자동 flush 를 끄므로 다른 빈과 공유하지 않는 전용 커넥션을 만들어 넘긴다. 커넥션은 실행기 종료 시 함께 닫힌다.
+     */
+    @Bean
+    @ConditionalOnBean({AbstractRedisClient.class})
+    @ConditionalOnProperty(prefix = "rate-limiter", value = "script-executor", havingValue = "pipelined")
+    public ScriptExecutor pipelinedScriptExecutor(AbstractRedisClient redisClient, RateLimitingProperties rateLimitingProperties) {
+        return PipelinedScriptExecutor.connect(redisClient,
+                                               rateLimitingProperties.getPipelineBatchSize(),
+                                               Duration.of(rateLimitingProperties.getPipelineFlushIntervalMicros(), ChronoUnit.MICROS));
+    }
+
+    @Bean
+    @ConditionalOnBean({ConnectionShards.class, BucketProperties.class, ScriptExecutor.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "cache-type", havingValue = "redis")
     public BucketRedisTemplate bucketRedisTemplate(
-        StatefulRedisConnection<String, AbstractTokenInfo> redisTokenInfoTemplate,
-        BucketProperties bucketProperties
+        ConnectionShards<AbstractTokenInfo> redisConnections,
+        ConnectionShards<String> redisStringConnections,
+        BucketProperties bucketProperties,
+        RateLimitingProperties rateLimitingProperties,
+        ScriptExecutor scriptExecutor
     ) {
-        return new BucketRedisTemplate(redisTokenInfoTemplate, bucketProperties);
+        return new BucketRedisTemplate(redisConnections,
+                                       redisStringConnections,
+                                       bucketProperties,
+                                       rateLimitingProperties.getStateLayout(),
+                                       scriptExecutor);
+    }
+
+    /**
+     * 로컬 메모리 캐시
+     */
+    @Bean
+    @ConditionalOnExpression("'${rate-limiter.cache-type:}'.equalsIgnoreCase('simple')")
+    public LocalCacheTemplate localCacheTemplate(RateLimitingProperties rateLimitingProperties,
+                                                 BucketProperties bucketProperties) {
+        return new LocalCacheTemplate(bucketProperties, rateLimitingProperties.getLocalCacheMaximumSize());
     }
 
     @Bean
@@ -89,41 +180,48 @@ public class RateLimiterAutoConfiguration {
     }
 
     @Bean
-    @ConditionalOnBean({BucketRedisTemplate.class, BucketProperties.class})
+    @ConditionalOnBean({CacheTemplate.class, BucketProperties.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "rate-type", havingValue = "token_bucket")
     public RateLimitHandler tokenBucketHandler(
-        BucketRedisTemplate bucketRedisTemplate,
+        CacheTemplate cacheTemplate,
         BucketProperties bucketProperties
     ) {
-        return new TokenBucketHandler(bucketRedisTemplate, bucketProperties);
+        return new TokenBucketHandler(cacheTemplate, bucketProperties);
     }
 
     @Bean
     @ConditionalOnBean({CacheTemplate.class, BucketProperties.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "rate-type", havingValue = "leaky_bucket")
-    public RateLimitHandler leakyBucketHandler(CacheTemplate cacheTemplate, BucketProperties bucketProperties) {
-        return new LeakyBucketHandler(cacheTemplate, bucketProperties);
+    public RateLimitHandler leakyBucketHandler(BucketProperties bucketProperties) {
+        return new LeakyBucketHandler(bucketProperties);
     }
 
     @Bean
     @ConditionalOnBean({CacheTemplate.class, BucketProperties.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "rate-type", havingValue = "fixed_window_counter")
-    public RateLimitHandler fixedWindowCounterHandler(CacheTemplate cacheTemplate) {
-        return new FixedWindowCounterHandler(cacheTemplate);
+    public RateLimitHandler fixedWindowCounterHandler(CacheTemplate cacheTemplate, BucketProperties bucketProperties) {
+        return new FixedWindowCounterHandler(cacheTemplate, bucketProperties);
     }
 
     @Bean
     @ConditionalOnBean({CacheTemplate.class, BucketProperties.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "rate-type", havingValue = "sliding_window_logging")
-    public RateLimitHandler slidingWindowLoggingHandler(CacheTemplate cacheTemplate) {
-        return new SlidingWindowLoggingHandler(cacheTemplate);
+    public RateLimitHandler slidingWindowLoggingHandler(CacheTemplate cacheTemplate, BucketProperties bucketProperties) {
+        return new SlidingWindowLoggingHandler(cacheTemplate, bucketProperties);
     }
 
     @Bean
     @ConditionalOnBean({CacheTemplate.class, BucketProperties.class})
     @ConditionalOnProperty(prefix = "rate-limiter", value = "rate-type", havingValue = "sliding_window_counter")
-    public RateLimitHandler slidingWindowCounterHandler(CacheTemplate cacheTemplate) {
-        return new SlidingWindowCounterHandler(cacheTemplate);
+    public RateLimitHandler slidingWindowCounterHandler(CacheTemplate cacheTemplate, BucketProperties bucketProperties) {
+        return new SlidingWindowCounterHandler(cacheTemplate, bucketProperties);
+    }
+
+    @Bean
+    @ConditionalOnBean({CacheTemplate.class, BucketProperties.class})
+    @ConditionalOnProperty(prefix = "rate-limiter", value = "rate-type", havingValue = "gcra")
+    public RateLimitHandler gcraHandler(CacheTemplate cacheTemplate, BucketProperties bucketProperties) {
+        return new GcraHandler(cacheTemplate, bucketProperties);
     }
 
     @Bean
@@ -132,58 +230,69 @@ public class RateLimiterAutoConfiguration {
         return new ConcurrentHashMapManager();
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "rate-limiter", value = "lock-type", havingValue = "striped")
+    public StripedLockManager stripedLockManager(RateLimitingProperties rateLimitingProperties) {
+        return new StripedLockManager(rateLimitingProperties.getLockStripes());
+    }
+
+    /**
+     * BeanPostProcessor 이므로 설정 클래스보다 먼저 생성될 수 있도록 static 으로 선언
+     */
+    @Bean
+    public static RateLimitMethodRegistry rateLimitMethodRegistry(ObjectProvider<RateLimitHandler> rateLimitHandlerProvider,
+                                                                  ObjectProvider<RateLimitingProperties> rateLimitingPropertiesProvider) {
+        return new RateLimitMethodRegistry(rateLimitHandlerProvider, rateLimitingPropertiesProvider);
+    }
+
     @Bean
     @ConditionalOnBean({LockManager.class, RateLimitHandler.class})
     public RateLimitAop rateLimitAop(RateLimitingProperties rateLimitingProperties,
                                      LockManager lockManager,
-                                     RateLimitHandler rateLimitHandler) {
-        return new RateLimitAop(rateLimitingProperties, lockManager, rateLimitHandler); // 메서드 종료
+                                     RateLimitMethodRegistry rateLimitMethodRegistry) {
+        return new RateLimitAop(rateLimitingProperties, lockManager, rateLimitMethodRegistry); // 메서드 종료
     }
 
-    static class AbstractTokenInfoCodec implements RedisCodec<String, AbstractTokenInfo> {
-
-        @Override
-        public String decodeKey(ByteBuffer bytes) {
-            return StandardCharsets.UTF_8.decode(bytes).toString();
-        }
-
-        @Override
-        public AbstractTokenInfo decodeValue(ByteBuffer bytes) {
-            String json = StandardCharsets.UTF_8.decode(bytes).toString();
-            return deserialize(json);
-        }
+    /**
+     * 할당량 수 지정을 지원하지 않는 핸들러는 생성 시점에 거절되므로, 주입받는 곳이 있을 때만 생성한다.
+     */
+    @Lazy
+    @Bean
+    @ConditionalOnBean({LockManager.class, RateLimitHandler.class})
+    public RateLimiter rateLimiter(RateLimitHandler rateLimitHandler,
+                                   LockManager lockManager,
+                                   RateLimitingProperties rateLimitingProperties) {
+        return new RateLimiter(rateLimitHandler, lockManager, rateLimitingProperties.getKeyHashThreshold());
+    }
 
-        @Override
-        public ByteBuffer encodeKey(String key) {
-            return StandardCharsets.UTF_8.encode(key);
-        }
+    private static boolean isCluster(RedisProperties redisProperties) {
+        return redisProperties.getCluster() != null
+            && redisProperties.getCluster().getNodes() != null
+            && !redisProperties.getCluster().getNodes().isEmpty();
+    }
 
-        @Override
-        public ByteBuffer encodeValue(AbstractTokenInfo value) {
-            String json = serialize(value);
-            return StandardCharsets.UTF_8.encode(json);
+    private static RedisURI redisUri(RedisURI redisUri, RedisProperties redisProperties) {
+        if (redisProperties.getTimeout() != null) {
+            redisUri.setTimeout(redisProperties.getTimeout());
         }
+        return redisUri;
+    }
 
-        private AbstractTokenInfo deserialize(String json) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            try {
-                return objectMapper.readValue(json, AbstractTokenInfo.class);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-        }
+    /**
+     * Caffeine 기반 로컬 메모리 캐시 <br/>
+     * Caffeine 은 선택 의존성이므로, 클래스패스에 있을 때만 Caffeine 을 참조하는 빈을 등록한다.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+    static class CaffeineCacheConfiguration {
 
-        private String serialize(AbstractTokenInfo value) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            try {
-                return objectMapper.writeValueAsString(value);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
+        @Bean
+        @ConditionalOnExpression("'${rate-limiter.cache-type:}'.equalsIgnoreCase('caffeine')")
+        public CaffeineCacheTemplate caffeineCacheTemplate(RateLimitingProperties rateLimitingProperties,
+                                                           BucketProperties bucketProperties) {
+            return new CaffeineCacheTemplate(bucketProperties, rateLimitingProperties.getLocalCacheMaximumSize());
         }
 
     }
 
-}
\ No newline at end of file
+}
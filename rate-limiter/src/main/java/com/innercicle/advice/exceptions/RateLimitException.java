@@ -1,24 +1,20 @@
 package com.innercicle.advice.exceptions;
 
 import lombok.Getter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * 처리율 제한 예외
+ * 거절이 몰리는 상황에서도 비용이 작도록 스택 트레이스를 만들지 않으며, 생성 시 로그를 남기지 않는다.
  */
 @Getter
 public class RateLimitException extends RuntimeException {
 
-    private static final Logger log = LoggerFactory.getLogger(RateLimitException.class);
     private final int remaining;
     private final int limit;
     private final int retryAfter;
 
     public RateLimitException(String message, int remaining, int limit, int retryAfter) {
-        super(message);
-        log.error("RateLimitException :: message :: {}, remaining :: {}, limit :: {}, retryAfter :: {}",
-                  message, remaining, limit, retryAfter);
+        super(message, null, false, false);
         this.remaining = remaining;
         this.limit = limit;
         this.retryAfter = retryAfter;
@@ -1,5 +1,7 @@
 package com.innercicle.annotations;
 
+import com.innercicle.key.KeyResolver;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -14,12 +16,22 @@ public @interface RateLimiting {
 
     String cacheKey() default "";
 
+    /**
+     * cacheKey 대신 사용할 키 생성기, 기본값({@link KeyResolver} 자체)은 사용하지 않음을 의미
+     */
+    Class<? extends KeyResolver> keyResolver() default KeyResolver.class;
+
     String executeCondition() default "";
 
     String skipCondition() default "";
 
     boolean ratePerMethod() default false;
 
+    /**
+     * 처리율 제한 시 예외 대신 실행할 대체 메소드 이름, 파라미터 타입이 같아야 한다. <br/>
+     * public 메소드는 프록시로 호출하므로 @Transactional, @Cacheable 등이 적용된다. <br/>
+     * private, final 메소드이거나 인터페이스 기반(JDK) 프록시인 경우 대상 객체로 직접 호출하므로 다른 어드바이스가 적용되지 않는다.
+     */
     String fallbackMethodName() default "";
 
     long waitTime() default 5000L;
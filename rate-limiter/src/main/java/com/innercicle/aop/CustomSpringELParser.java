@@ -2,21 +2,76 @@ package com.innercicle.aop;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.DataBindingMethodResolver;
+import org.springframework.expression.spel.support.DataBindingPropertyAccessor;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.expression.spel.support.StandardTypeConverter;
 
+/**
+ * <h2>Lock Key SpEL 파서</h2>
+ * - 파서는 스레드 안전하므로 하나만 사용한다. <br/>
+ * - 표현식은 {@link SpelCompilerMode#MIXED} 로 파싱하여, 컴파일 가능한 표현식은 몇 번 평가한 뒤부터 바이트코드로 실행된다.
+ * 인자 타입이 바뀌어 컴파일된 코드가 실패하면(예: 구현체가 여러 개인 인터페이스 인자) 예외 대신 해석 실행으로 돌아간다. <br/>
+ * - 평가 컨텍스트는 변수, 프로퍼티 조회, 인스턴스 메소드 호출만 허용하는 {@link SimpleEvaluationContext} 를 사용한다.
+ * 타입 참조(T(...)), 빈 참조(@bean), 생성자 호출, 대입은 사용할 수 없다. <br/>
+ * - 프로퍼티 접근자와 메소드 리졸버는 하나만 만들어 모든 컨텍스트가 공유한다. 표현식 노드는 직전에 사용한 접근자가 컨텍스트에 있을 때만 재사용하므로,
+ * 요청마다 새로 만들면 리플렉션 캐시와 접근자 재사용이 모두 사라진다. 요청마다 만드는 것은 인자 변수를 담는 컨텍스트뿐이다.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CustomSpringELParser {
 
-    public static Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
-        SpelExpressionParser parser = new SpelExpressionParser();
-        StandardEvaluationContext context = new StandardEvaluationContext();
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, CustomSpringELParser.class.getClassLoader()));
+    private static final PropertyAccessor PROPERTY_ACCESSOR = DataBindingPropertyAccessor.forReadOnlyAccess();
+    private static final MethodResolver METHOD_RESOLVER = DataBindingMethodResolver.forInstanceMethodInvocation();
+    private static final TypeConverter TYPE_CONVERTER = new StandardTypeConverter();
+
+    /**
+     * <h2>표현식 파싱</h2>
+     * 결과는 메소드 단위로 캐싱하여 재사용한다. 빈 표현식은 빈 문자열로 평가된다.
+     *
+     * @param key SpEL 표현식
+     * @return 파싱된 표현식
+     */
+    public static Expression parseExpression(String key) {
+        if (key == null || key.isBlank()) {
+            return new LiteralExpression("");
+        }
+        return PARSER.parseExpression(key);
+    }
+
+    public static Object getDynamicValue(String[] parameterNames, Object[] args, Expression expression) {
+        return expression.getValue(createContext(parameterNames, args), Object.class);
+    }
+
+    public static Boolean getCondition(String[] parameterNames, Object[] args, Expression expression) {
+        return expression.getValue(createContext(parameterNames, args), Boolean.class);
+    }
+
+    private static SimpleEvaluationContext createContext(String[] parameterNames, Object[] args) {
+        SimpleEvaluationContext context = SimpleEvaluationContext.forPropertyAccessors(PROPERTY_ACCESSOR)
+            .withMethodResolvers(METHOD_RESOLVER)
+            .withTypeConverter(TYPE_CONVERTER)
+            .withAssignmentDisabled()
+            .build();
 
         for (int i = 0; i < parameterNames.length; i++) {
             context.setVariable(parameterNames[i], args[i]);
         }
 
-        return parser.parseExpression(key).getValue(context, Object.class);
+        return context;
+    }
+
+    public static Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
+        return getDynamicValue(parameterNames, args, parseExpression(key));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.innercicle.aop;
+
+import org.springframework.expression.Expression;
+
+/**
+ * <h2>executeCondition, skipCondition SpEL 조건</h2>
+ * 파싱된 표현식과 파라미터 이름을 보관하고, 요청마다 평가만 수행한다. 결과가 null 이면 false 로 취급한다.
+ */
+class ExpressionCondition {
+
+    private final String[] parameterNames;
+    private final Expression expression;
+
+    ExpressionCondition(String[] parameterNames, Expression expression) {
+        this.parameterNames = parameterNames;
+        this.expression = expression;
+    }
+
+    boolean matches(Object[] args) {
+        return Boolean.TRUE.equals(CustomSpringELParser.getCondition(parameterNames, args, expression));
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.innercicle.aop;
+
+import com.innercicle.key.KeyResolver;
+import org.springframework.expression.Expression;
+
+/**
+ * <h2>cacheKey SpEL 표현식 키 생성기</h2>
+ * 파싱된 표현식과 파라미터 이름을 보관하고, 요청마다 평가만 수행한다.
+ */
+class ExpressionKeyResolver implements KeyResolver {
+
+    private final String[] parameterNames;
+    private final Expression expression;
+
+    ExpressionKeyResolver(String[] parameterNames, Expression expression) {
+        this.parameterNames = parameterNames;
+        this.expression = expression;
+    }
+
+    @Override
+    public String resolve(Object[] args) {
+        return String.valueOf(CustomSpringELParser.getDynamicValue(parameterNames, args, expression));
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.innercicle.aop;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <h2>처리율 제한 시 실행할 대체 메소드</h2>
+ * 시작 시점에 {@link MethodHandle} 로 변환하고, (대상 객체, 인자 배열) 형태로 맞춰 두어 요청마다 리플렉션 없이 호출한다. <br/>
+ * 대체 메소드는 같은 클래스(상위 클래스 포함)에 있어야 하며, 파라미터 타입이 같고 반환 타입이 호환되어야 한다. <br/>
+ * 프록시가 가로챌 수 있는 메소드(public, final/static 아님)는 프록시로 호출하여 @Transactional, @Cacheable 등 다른 어드바이스를 적용한다. <br/>
+ * 그 외 메소드나 대상 클래스를 상속하지 않는 인터페이스 기반 프록시는 대상 객체로 호출한다.
+ */
+final class FallbackMethod {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final MethodHandle invoker;
+    private final Class<?> declaringClass;
+    private final boolean proxyable;
+
+    private FallbackMethod(MethodHandle invoker, Class<?> declaringClass, boolean proxyable) {
+        this.invoker = invoker;
+        this.declaringClass = declaringClass;
+        this.proxyable = proxyable;
+    }
+
+    /**
+     * <h2>대체 메소드 조회</h2>
+     *
+     * @param targetClass        대상 클래스
+     * @param method             처리율 제한 대상 메소드
+     * @param fallbackMethodName 대체 메소드 이름
+     * @param required           대체 메소드 필수 여부, 클래스 설정처럼 메소드마다 시그니처가 다른 경우 false
+     * @return 대체 메소드, 이름이 비어 있거나 필수가 아니면서 호환되는 메소드가 없으면 null
+     * @throws IllegalStateException 필수인데 대체 메소드를 찾을 수 없거나 반환 타입이 호환되지 않는 경우
+     */
+    static FallbackMethod of(Class<?> targetClass, Method method, String fallbackMethodName, boolean required) {
+        if (fallbackMethodName.isBlank()) {
+            return null;
+        }
+        Method fallback = ReflectionUtils.findMethod(targetClass, fallbackMethodName, method.getParameterTypes());
+        Class<?> returnType = method.getReturnType();
+        boolean compatible = fallback != null
+                             && (returnType == void.class || ClassUtils.isAssignable(returnType, fallback.getReturnType()));
+        if (!compatible) {
+            if (!required) {
+                return null;
+            }
+            if (fallback == null) {
+                throw new IllegalStateException("대체 메소드를 찾을 수 없습니다. : " + fallbackMethodName);
+            }
+            throw new IllegalStateException("대체 메소드의 반환 타입이 호환되지 않습니다. : " + fallback);
+        }
+        ReflectionUtils.makeAccessible(fallback);
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(fallback);
+            if (Modifier.isStatic(fallback.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle invoker = handle.asSpreader(Object[].class, fallback.getParameterCount()).asType(INVOKER_TYPE);
+            int modifiers = fallback.getModifiers();
+            boolean proxyable = Modifier.isPublic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers);
+            return new FallbackMethod(invoker, fallback.getDeclaringClass(), proxyable);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("대체 메소드에 접근할 수 없습니다. : " + fallback, e);
+        }
+    }
+
+    /**
+     * @param proxy  호출된 프록시, 프록시가 아니면 대상 객체
+     * @param target 대상 객체
+     * @param args   메소드 인자
+     */
+    Object invoke(Object proxy, Object target, Object[] args) throws Throwable {
+        Object receiver = proxyable && declaringClass.isInstance(proxy) ? proxy : target;
+        return (Object)invoker.invokeExact(receiver, args);
+    }
+
+}
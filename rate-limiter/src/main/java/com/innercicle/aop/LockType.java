@@ -3,6 +3,7 @@ package com.innercicle.aop;
 public enum LockType {
 
     REDIS_REDISSON,
-    CONCURRENT_HASH_MAP
+    CONCURRENT_HASH_MAP,
+    STRIPED
 
 }
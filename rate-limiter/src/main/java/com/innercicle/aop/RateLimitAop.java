@@ -1,9 +1,12 @@
 package com.innercicle.aop;
 
 import com.innercicle.advice.exceptions.LockAcquisitionFailureException;
+import com.innercicle.advice.exceptions.RateLimitException;
 import com.innercicle.annotations.RateLimiting;
 import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.domain.RateLimitDecision;
 import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.lock.LockHandle;
 import com.innercicle.lock.LockManager;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -24,54 +27,88 @@ public class RateLimitAop {
 
     private final RateLimitingProperties rateLimitingProperties;
     private final LockManager lockManager;
-    private final RateLimitHandler rateLimitHandler;
+    private final RateLimitMethodRegistry rateLimitMethodRegistry;
+    private final RejectionLogSampler rejectionLogSampler = new RejectionLogSampler();
 
     /**
      * <h2>RateLimiting 어노테이션을 이용한 Rate Limiting 처리</h2>
-     * - RateLimiting 어노테이션이 붙은 메소드에 대한 Rate Limiting 처리 <br/>
+     * - RateLimiting 어노테이션이 붙은 메소드, 클래스의 메소드에 대한 Rate Limiting 처리 <br/>
      * - enable/disable 설정에 따라 Rate Limiting 처리 여부 결정 {@link RateLimitingProperties#isEnabled()} <br/>
+     * - executeCondition, skipCondition 조건에 따라 Rate Limiting 처리 여부 결정 <br/>
+     * - 처리율 제한 시 fallbackMethodName 이 지정되어 있으면 대체 메소드 실행 <br/>
      *
      * @param joinPoint : AspectJ JoinPoint
      * @return Object : 메소드 실행 결과
      */
-    @Around("@annotation(com.innercicle.annotations.RateLimiting)")
+    @Around("@annotation(com.innercicle.annotations.RateLimiting) || @within(com.innercicle.annotations.RateLimiting)")
     public Object rateLimit(ProceedingJoinPoint joinPoint) throws Throwable {
         if (!rateLimitingProperties.isEnabled()) {
             return joinPoint.proceed();
         }
-        MethodSignature signature = (MethodSignature)joinPoint.getSignature();
-        Method method = signature.getMethod();
-        RateLimiting rateLimiting = method.getAnnotation(RateLimiting.class);
-        if (rateLimiting == null) {
+        Method method = ((MethodSignature)joinPoint.getSignature()).getMethod();
+        RateLimitMethodDescriptor descriptor = rateLimitMethodRegistry.get(method, joinPoint.getTarget());
+        if (descriptor == null) {
             // 어노테이션이 없는 경우 처리하지 않음
             return joinPoint.proceed();
         }
-        String lockKey = getLockAndLockKey(joinPoint, method, signature, rateLimiting);
+        Object[] args = joinPoint.getArgs();
+        if (!descriptor.isLimited(args)) {
+            // executeCondition, skipCondition 에 따라 제외된 요청은 Lock, 캐시 조회 없이 실행
+            return joinPoint.proceed();
+        }
+        String key = descriptor.resolveKey(args);
 
+        RateLimitDecision decision;
         try {
-            tryLock(rateLimiting, lockKey);
+            decision = acquire(descriptor, key);
+        } catch (InterruptedException e) {
+            log.error("에러 발생 : {}", e.getMessage());
+            throw e;
+        }
+        setResponseHeader(decision);
+        if (decision.isRejected()) {
+            rejectionLogSampler.record(key, decision);
+            if (descriptor.hasFallback()) {
+                // 대체 메소드가 있으면 예외 응답 대신 대체 메소드 결과를 반환, 가능하면 프록시로 호출하여 다른 어드바이스 적용
+                return descriptor.fallback(joinPoint.getThis(), joinPoint.getTarget(), args);
+            }
+            throw decision.toException();
+        }
 
-            String cacheKey = "cache-".concat(lockKey);
+        // 보호 대상 메소드는 Lock 을 해제한 뒤 실행하므로, 처리 시간이 키별 동시 실행 수를 제한하지 않는다.
+        return joinPoint.proceed();
+    }
 
+    /**
+     * <h2>처리율 판단 및 반영</h2>
+     * - 판단과 갱신을 원자적으로 처리하는 핸들러는 Lock 없이 예외를 만들지 않는 {@link RateLimitHandler#tryAcquire(String)} 로 처리 <br/>
+     * - 그 외 핸들러는 판단(allowRequest)과 반영(endRequest) 구간에서만 Lock 을 잡는다. Lock Key 는 이 경우에만 만든다.
+     *
+     * @return 판단 결과
+     */
+    private RateLimitDecision acquire(RateLimitMethodDescriptor descriptor, String key) throws InterruptedException {
+        RateLimitHandler rateLimitHandler = descriptor.getRateLimitHandler();
+        String cacheKey = descriptor.cacheKey(key);
+        if (rateLimitHandler.isAtomic()) {
+            return rateLimitHandler.tryAcquire(cacheKey);
+        }
+        String lockKey = descriptor.lockKey(key);
+        LockHandle lock = lockManager.getLock(lockKey);
+        tryLock(lock, descriptor.getRateLimiting(), lockKey);
+        try {
             AbstractTokenInfo tokenBucketInfo = rateLimitHandler.allowRequest(cacheKey);
-
-            Object proceed = joinPoint.proceed();
-
             rateLimitHandler.endRequest(cacheKey, tokenBucketInfo);
-            setResponseHeader(tokenBucketInfo);
-
-            return proceed;
-        } catch (InterruptedException e) {
-            log.error("에러 발생 : {}", e.getMessage());
-            throw e;
+            return RateLimitDecision.from(tokenBucketInfo);
+        } catch (RateLimitException e) {
+            return RateLimitDecision.from(e);
         } finally {
             log.debug("{} lock 해제", this.getClass().getName());
-            lockManager.unlock();
+            lock.unlock();
         }
     }
 
-    private void tryLock(RateLimiting rateLimiting, String lockKey) throws InterruptedException {
-        boolean lockable = lockManager.tryLock(rateLimiting);
+    private void tryLock(LockHandle lock, RateLimiting rateLimiting, String lockKey) throws InterruptedException {
+        boolean lockable = lock.tryLock(rateLimiting);
         if (!lockable) {
             log.error("Lock 획득 실패={}", lockKey);
             throw new LockAcquisitionFailureException("Lock 획득 실패했습니다.");
@@ -79,37 +116,24 @@ public class RateLimitAop {
         log.debug("{} lock 시작", this.getClass().getName());
     }
 
-    /**
-     * <h2>Lock 획득 및 Lock Key 생성</h2>
-     * - Lock 획득 <br/>
-     * - Lock Key 생성
-     *
-     * @return Lock Key
-     */
-    private String getLockAndLockKey(ProceedingJoinPoint joinPoint, Method method, MethodSignature signature, RateLimiting rateLimiting) {
-        String lockKey =
-            method.getName() + CustomSpringELParser.getDynamicValue(signature.getParameterNames(),
-                                                                    joinPoint.getArgs(),
-                                                                    rateLimiting.cacheKey());
-
-        lockManager.getLock(lockKey);
-        return lockKey;
-    }
-
     /**
      * <h2>클라이언트에게 회신할 response 정보 세팅</h2>
      * - X-Ratelimit-Remaining : 남은 요청 횟수 <br/>
      * - X-Ratelimit-Limit : 요청 제한 횟수 <br/>
      * - X-Ratelimit-Retry-After : 다음 요청까지 대기 시간
      *
-     * @param tokenBucketInfo 토큰 정보
+     * @param decision 판단 결과
      */
-    private void setResponseHeader(AbstractTokenInfo tokenBucketInfo) {
-        HttpServletResponse response = ((ServletRequestAttributes)(RequestContextHolder.currentRequestAttributes())).getResponse();
+    private void setResponseHeader(RateLimitDecision decision) {
+        // 웹 요청이 아닌 호출(배치, 메시지 소비 등)에서는 응답 헤더를 설정하지 않는다.
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
         if (response != null) {
-            response.setIntHeader("X-Ratelimit-Remaining", tokenBucketInfo.getRemaining());
-            response.setIntHeader("X-Ratelimit-Limit", tokenBucketInfo.getLimit());
-            response.setIntHeader("X-Ratelimit-Retry-After", tokenBucketInfo.getRetryAfter());
+            response.setIntHeader("X-Ratelimit-Remaining", (int)Math.min(decision.getRemaining(), Integer.MAX_VALUE));
+            response.setIntHeader("X-Ratelimit-Limit", (int)decision.getLimit());
+            response.setIntHeader("X-Ratelimit-Retry-After", decision.getRetryAfterSeconds());
         }
     }
 
@@ -0,0 +1,110 @@
+package com.innercicle.aop;
+
+import com.innercicle.annotations.RateLimiting;
+import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.key.CacheKeyBuilder;
+import com.innercicle.key.KeyResolver;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+
+/**
+ * <h2>처리율 제한 대상 메소드 정보</h2>
+ * 애플리케이션 시작 시점에 한 번 만들어지는 불변 객체로, 요청마다 반복되는 어노테이션 조회와 표현식 파싱을 대신한다. <br/>
+ * - rateLimiting : 대기 시간, 임대 시간 등 Lock 정책 <br/>
+ * - keyResolver : cacheKey 표현식 또는 keyResolver 로 지정한 키 생성기 <br/>
+ * - keyBuilder : 접두사(메소드 이름, 클래스 설정은 어노테이션 이름)를 붙여 Lock Key, 캐시 키 생성 <br/>
+ * - executeCondition, skipCondition : 처리율 제한 적용 여부 조건 <br/>
+ * - fallbackMethod : 처리율 제한 시 예외 대신 실행할 대체 메소드 <br/>
+ * - rateLimitHandler : 처리율 판단 핸들러
+ */
+@Getter
+public final class RateLimitMethodDescriptor {
+
+    private final Method method;
+    private final RateLimiting rateLimiting;
+    private final RateLimitHandler rateLimitHandler;
+    @Getter(AccessLevel.NONE)
+    private final KeyResolver keyResolver;
+    @Getter(AccessLevel.NONE)
+    private final CacheKeyBuilder keyBuilder;
+    @Getter(AccessLevel.NONE)
+    private final ExpressionCondition executeCondition;
+    @Getter(AccessLevel.NONE)
+    private final ExpressionCondition skipCondition;
+    @Getter(AccessLevel.NONE)
+    private final FallbackMethod fallbackMethod;
+
+    RateLimitMethodDescriptor(Method method,
+                              RateLimiting rateLimiting,
+                              String keyPrefix,
+                              KeyResolver keyResolver,
+                              int keyHashThreshold,
+                              ExpressionCondition executeCondition,
+                              ExpressionCondition skipCondition,
+                              FallbackMethod fallbackMethod,
+                              RateLimitHandler rateLimitHandler) {
+        this.method = method;
+        this.rateLimiting = rateLimiting;
+        this.keyResolver = keyResolver;
+        this.keyBuilder = new CacheKeyBuilder(keyPrefix, keyHashThreshold);
+        this.executeCondition = executeCondition;
+        this.skipCondition = skipCondition;
+        this.fallbackMethod = fallbackMethod;
+        this.rateLimitHandler = rateLimitHandler;
+    }
+
+    /**
+     * <h2>처리율 제한 적용 여부</h2>
+     * - executeCondition 이 있으면 참인 경우에만 적용 <br/>
+     * - skipCondition 이 있으면 참인 경우 적용하지 않음 <br/>
+     * 두 조건이 모두 없으면 조건 평가 없이 항상 적용한다.
+     *
+     * @param args 메소드 인자
+     * @return 적용 여부
+     */
+    public boolean isLimited(Object[] args) {
+        if (executeCondition != null && !executeCondition.matches(args)) {
+            return false;
+        }
+        return skipCondition == null || !skipCondition.matches(args);
+    }
+
+    /**
+     * <h2>키 생성</h2>
+     * 키 생성기 결과, 메소드 이름 접두사는 {@link #lockKey(String)}, {@link #cacheKey(String)} 에서 붙인다.
+     *
+     * @param args 메소드 인자
+     * @return 키
+     */
+    public String resolveKey(Object[] args) {
+        return keyResolver.resolve(args);
+    }
+
+    public String lockKey(String key) {
+        return keyBuilder.lockKey(key);
+    }
+
+    public String cacheKey(String key) {
+        return keyBuilder.cacheKey(key);
+    }
+
+    public boolean hasFallback() {
+        return fallbackMethod != null;
+    }
+
+    /**
+     * <h2>대체 메소드 실행</h2>
+     * 프록시가 가로챌 수 있는 대체 메소드는 프록시로 호출하여 다른 어드바이스가 적용되도록 한다.
+     *
+     * @param proxy  호출된 프록시
+     * @param target 대상 객체
+     * @param args   메소드 인자
+     * @return 대체 메소드 실행 결과
+     */
+    public Object fallback(Object proxy, Object target, Object[] args) throws Throwable {
+        return fallbackMethod.invoke(proxy, target, args);
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.innercicle.aop;
+
+import com.innercicle.annotations.RateLimiting;
+import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.key.KeyResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.ParseException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>처리율 제한 대상 메소드 레지스트리</h2>
+ * 빈 초기화가 끝난 시점에 {@link RateLimiting} 이 붙은 메소드를 찾아 {@link RateLimitMethodDescriptor} 로 등록한다. <br/>
+ * 클래스에 붙은 경우 public 메소드 전체에 적용하며, 메소드에 붙은 설정이 우선한다. <br/>
+ * - 요청 처리 시에는 맵 조회 한 번으로 메소드 정보를 얻는다. <br/>
+ * - cacheKey, executeCondition, skipCondition 표현식 오류, 파라미터 이름 누락, 키 생성기 생성 실패, 대체 메소드 누락 등 잘못된 설정은 첫 요청이 아니라 애플리케이션 시작 시점에 실패한다. <br/>
+ * - 이미 프록시가 적용된 빈이라도 대상 클래스 기준으로 등록한다. <br/>
+ * - 인터페이스 프록시처럼 등록된 메소드와 호출된 메소드가 다른 경우, 대상 클래스의 메소드로 찾아 호출된 메소드 기준으로 다시 등록한다. <br/>
+ * - 요청 처리 중에는 메소드 정보를 만들지 않는다. 등록되지 않은 메소드는 처리율 제한 대상이 아닌 것으로 기록해 두므로,
+ * 클래스 단위 어드바이스가 적용된 메소드라도 요청마다 어노테이션을 다시 조회하지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitMethodRegistry implements BeanPostProcessor, BeanFactoryAware {
+
+    /**
+     * 클래스 설정을 공유하는 메소드의 Lock Key 접두사
+     */
+    private static final String CLASS_KEY_PREFIX = "class:";
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, RateLimitMethodDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final Set<Method> unlimitedMethods = ConcurrentHashMap.newKeySet();
+    private final Map<Class<? extends KeyResolver>, KeyResolver> keyResolvers = new ConcurrentHashMap<>();
+    private final ObjectProvider<RateLimitHandler> rateLimitHandlerProvider;
+    private final ObjectProvider<RateLimitingProperties> rateLimitingPropertiesProvider;
+    private BeanFactory beanFactory;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        Class<?> targetClass = ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+        if (!AnnotationUtils.isCandidateClass(targetClass, RateLimiting.class)) {
+            return bean;
+        }
+        ReflectionUtils.doWithMethods(targetClass, method -> {
+            try {
+                // 키 생성기, 핸들러 빈 생성 중 다른 빈이 후처리될 수 있으므로 맵의 compute 밖에서 생성
+                if (!descriptors.containsKey(method)) {
+                    RateLimitMethodDescriptor descriptor = createDescriptor(targetClass, method);
+                    if (descriptor != null) {
+                        descriptors.putIfAbsent(method, descriptor);
+                    }
+                }
+            } catch (IllegalStateException | ParseException | BeanInstantiationException e) {
+                throw new BeanInitializationException("RateLimiting 설정 오류 : " + beanName + "#" + method.getName(), e);
+            }
+        }, method -> AnnotatedElementUtils.hasAnnotation(method, RateLimiting.class) || isClassLevelTarget(targetClass, method));
+        // 초기화 콜백 등에서 등록 전에 호출되어 제외로 기록된 메소드가 남지 않도록 비운다.
+        unlimitedMethods.clear();
+        return bean;
+    }
+
+    /**
+     * <h2>메소드 정보 조회</h2>
+     *
+     * @param method 호출된 메소드
+     * @param target 호출 대상 객체
+     * @return 메소드 정보, 처리율 제한 대상이 아니거나 등록되지 않은 메소드이면 null
+     */
+    public RateLimitMethodDescriptor get(Method method, Object target) {
+        RateLimitMethodDescriptor descriptor = descriptors.get(method);
+        if (descriptor != null || target == null || unlimitedMethods.contains(method)) {
+            return descriptor;
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(target);
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        descriptor = descriptors.get(specificMethod);
+        if (descriptor == null) {
+            unlimitedMethods.add(method);
+        } else {
+            descriptors.putIfAbsent(method, descriptor);
+        }
+        return descriptor;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * <h2>메소드 정보 생성</h2>
+     * - 메소드에 어노테이션이 있으면 메소드 설정을 사용하고, Lock Key 접두사는 메소드 이름 <br/>
+     * - 없으면 클래스 설정을 상속하고, Lock Key 접두사는 {@code class:} + 어노테이션 이름이므로 클래스의 메소드가 같은 처리율을 공유한다.
+     * 접두사로 구분하므로 같은 이름의 메소드와 키가 겹치지 않는다. ratePerMethod 가 true 이면 메소드 이름을 사용하여 메소드별로 따로 제한한다.
+     */
+    private RateLimitMethodDescriptor createDescriptor(Class<?> targetClass, Method method) {
+        RateLimiting rateLimiting = AnnotatedElementUtils.findMergedAnnotation(method, RateLimiting.class);
+        boolean classLevel = false;
+        if (rateLimiting == null) {
+            if (!isClassLevelTarget(targetClass, method)) {
+                return null;
+            }
+            rateLimiting = AnnotatedElementUtils.findMergedAnnotation(targetClass, RateLimiting.class);
+            classLevel = true;
+        }
+        String keyPrefix = classLevel && !rateLimiting.ratePerMethod() ? CLASS_KEY_PREFIX + rateLimiting.name() : method.getName();
+        String[] parameterNames = getParameterNames(method,
+                                                    rateLimiting.cacheKey(),
+                                                    rateLimiting.executeCondition(),
+                                                    rateLimiting.skipCondition());
+        KeyResolver keyResolver = createKeyResolver(method, rateLimiting, parameterNames);
+        log.debug("RateLimiting 메소드 등록 : {}", method);
+        int keyHashThreshold = rateLimitingPropertiesProvider.getIfAvailable(RateLimitingProperties::new).getKeyHashThreshold();
+        return new RateLimitMethodDescriptor(method,
+                                             rateLimiting,
+                                             keyPrefix,
+                                             keyResolver,
+                                             keyHashThreshold,
+                                             createCondition(parameterNames, rateLimiting.executeCondition()),
+                                             createCondition(parameterNames, rateLimiting.skipCondition()),
+                                             FallbackMethod.of(targetClass, method, rateLimiting.fallbackMethodName(), !classLevel),
+                                             rateLimitHandlerProvider.getIfAvailable());
+    }
+
+    /**
+     * <h2>키 생성기 생성</h2>
+     * - keyResolver 지정 시 : 해당 타입의 빈이 하나 있으면 빈을, 없으면 기본 생성자로 만든 인스턴스를 사용 <br/>
+     * - 그 외 : cacheKey 표현식을 파싱한 키 생성기
+     */
+    private KeyResolver createKeyResolver(Method method, RateLimiting rateLimiting, String[] parameterNames) {
+        Class<? extends KeyResolver> keyResolverType = rateLimiting.keyResolver();
+        if (keyResolverType != KeyResolver.class) {
+            if (!rateLimiting.cacheKey().isBlank()) {
+                throw new IllegalStateException("cacheKey 와 keyResolver 는 함께 사용할 수 없습니다.");
+            }
+            KeyResolver keyResolver = keyResolvers.get(keyResolverType);
+            if (keyResolver == null) {
+                keyResolver = getOrCreateKeyResolver(keyResolverType);
+                keyResolvers.putIfAbsent(keyResolverType, keyResolver);
+            }
+            keyResolver.validate(method);
+            return keyResolver;
+        }
+        return new ExpressionKeyResolver(parameterNames, CustomSpringELParser.parseExpression(rateLimiting.cacheKey()));
+    }
+
+    /**
+     * <h2>클래스 설정 적용 대상 여부</h2>
+     * 클래스에 {@link RateLimiting} 이 있는 경우, {@link Object} 의 메소드와 대체 메소드를 제외한 public 메소드
+     */
+    private boolean isClassLevelTarget(Class<?> targetClass, Method method) {
+        if (method.getDeclaringClass() == Object.class
+            || method.isSynthetic()
+            || !Modifier.isPublic(method.getModifiers())
+            || Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        RateLimiting rateLimiting = AnnotatedElementUtils.findMergedAnnotation(targetClass, RateLimiting.class);
+        return rateLimiting != null && !method.getName().equals(rateLimiting.fallbackMethodName());
+    }
+
+    /**
+     * <h2>조건 생성</h2>
+     *
+     * @return 조건, 표현식이 비어 있으면 null
+     */
+    private ExpressionCondition createCondition(String[] parameterNames, String condition) {
+        if (condition.isBlank()) {
+            return null;
+        }
+        return new ExpressionCondition(parameterNames, CustomSpringELParser.parseExpression(condition));
+    }
+
+    /**
+     * <h2>표현식에 사용할 파라미터 이름 조회</h2>
+     * 이름을 찾을 수 없는 경우, 인자가 있는 메소드에 표현식이 하나라도 있으면 실패한다.
+     */
+    private String[] getParameterNames(Method method, String... expressions) {
+        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        if (parameterNames != null) {
+            return parameterNames;
+        }
+        if (method.getParameterCount() > 0 && Arrays.stream(expressions).anyMatch(expression -> !expression.isBlank())) {
+            throw new IllegalStateException("SpEL 표현식에 사용할 파라미터 이름을 찾을 수 없습니다. -parameters 옵션으로 컴파일해야 합니다.");
+        }
+        return new String[0];
+    }
+
+    private KeyResolver getOrCreateKeyResolver(Class<? extends KeyResolver> keyResolverType) {
+        if (beanFactory != null) {
+            KeyResolver keyResolver = beanFactory.getBeanProvider(keyResolverType).getIfUnique();
+            if (keyResolver != null) {
+                return keyResolver;
+            }
+        }
+        return BeanUtils.instantiateClass(keyResolverType);
+    }
+
+}
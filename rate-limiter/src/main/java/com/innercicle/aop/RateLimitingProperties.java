@@ -1,5 +1,9 @@
 package com.innercicle.aop;
 
+import com.innercicle.cache.PipelinedScriptExecutor;
+import com.innercicle.cache.ScriptExecutorType;
+import com.innercicle.cache.StateLayout;
+import com.innercicle.lock.StripedLockManager;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.autoconfigure.cache.CacheType;
@@ -30,4 +34,49 @@ public class RateLimitingProperties {
      */
     private CacheType cacheType = CacheType.REDIS;
 
+    /**
+     * 로컬 캐시(simple, caffeine) 최대 키 개수
+     */
+    private long localCacheMaximumSize = 100_000;
+
+    /**
+     * Redis 저장 형식 (blob, hash)
+     */
+    private StateLayout stateLayout = StateLayout.BLOB;
+
+    /**
+     * Redis 커넥션 수, 키 해시로 커넥션을 나누어 사용. 타임아웃은 spring.data.redis.timeout, connect-timeout 을 따른다.
+     */
+    private int redisConnections = 1;
+
+    /**
+     * sync 실행 시 Lua 스크립트 전용 커넥션(redis-connections 개) 사용 여부, false 면 해시 저장 형식 명령과 커넥션을 공유
+     */
+    private boolean redisDedicatedScriptConnections;
+
+    /**
+     * Redis Lua 스크립트 실행 방식 (sync, pipelined)
+     */
+    private ScriptExecutorType scriptExecutor = ScriptExecutorType.SYNC;
+
+    /**
+     * pipelined 실행 시 한 번에 전송할 명령 수
+     */
+    private int pipelineBatchSize = PipelinedScriptExecutor.DEFAULT_BATCH_SIZE;
+
+    /**
+     * pipelined 실행 시 명령이 batch 크기만큼 쌓이지 않아도 전송하는 주기(μs)
+     */
+    private long pipelineFlushIntervalMicros = PipelinedScriptExecutor.DEFAULT_FLUSH_INTERVAL_MICROS;
+
+    /**
+     * striped Lock 개수, 2의 거듭제곱으로 올림
+     */
+    private int lockStripes = StripedLockManager.DEFAULT_STRIPES;
+
+    /**
+     * 키 길이가 이 값을 넘으면 64 bit 해시로 바꿔 사용, 0 이면 사용하지 않음
+     */
+    private int keyHashThreshold;
+
 }
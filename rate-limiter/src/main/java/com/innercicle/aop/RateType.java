@@ -9,6 +9,7 @@ public enum RateType {
     LEAKY_BUCKET,
     FIXED_WINDOW_COUNTER,
     SLIDING_WINDOW_LOGGING,
-    SLIDING_WINDOW_COUNTER
+    SLIDING_WINDOW_COUNTER,
+    GCRA
 
 }
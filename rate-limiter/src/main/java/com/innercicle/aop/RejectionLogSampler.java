@@ -0,0 +1,53 @@
+package com.innercicle.aop;
+
+import com.innercicle.domain.RateLimitDecision;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * <h2>처리율 제한 로그 샘플링</h2>
+ * 거절된 요청마다 로그를 남기지 않고, 주기마다 한 번만 마지막 거절 정보와 그동안 거절된 건수를 WARN 으로 남긴다. <br/>
+ * 주기 안의 나머지 거절은 카운터 증가만 수행한다.
+ */
+@Slf4j
+final class RejectionLogSampler {
+
+    static final long DEFAULT_INTERVAL_MILLIS = 1_000;
+
+    private final long intervalMillis;
+    private final LongSupplier clock;
+    private final AtomicLong nextLogAt = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+
+    RejectionLogSampler() {
+        this(DEFAULT_INTERVAL_MILLIS, System::currentTimeMillis);
+    }
+
+    RejectionLogSampler(long intervalMillis, LongSupplier clock) {
+        this.intervalMillis = intervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * <h2>거절 기록</h2>
+     *
+     * @param key       처리율 제한 키
+     * @param decision 거절 결과
+     * @return 로그를 남겼는지 여부
+     */
+    boolean record(String key, RateLimitDecision decision) {
+        rejected.increment();
+        long now = clock.getAsLong();
+        long next = nextLogAt.get();
+        if (now < next || !nextLogAt.compareAndSet(next, now + intervalMillis)) {
+            return false;
+        }
+        log.warn("처리율 제한 : key={}, limit={}, retryAfter={}s, 최근 {}ms 동안 {}건 거절",
+                 key, decision.getLimit(), decision.getRetryAfterSeconds(), intervalMillis, rejected.sumThenReset());
+        return true;
+    }
+
+}
@@ -2,136 +2,194 @@ package com.innercicle.cache;
 
 import com.innercicle.domain.AbstractTokenInfo;
 import com.innercicle.domain.BucketProperties;
-import io.lettuce.core.ScoredValue;
+import com.innercicle.key.CacheKeyBuilder;
 import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.sync.RedisCommands;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
 
 import java.lang.reflect.InvocationTargetException;
-import java.time.Duration;
-import java.time.Instant;
+import java.security.SecureRandom;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Slf4j
-@RequiredArgsConstructor
 public class BucketRedisTemplate implements CacheTemplate {
 
-    private final StatefulRedisConnection<String, AbstractTokenInfo> connection;
+    private final ConnectionShards<AbstractTokenInfo> connections;
+    private final ConnectionShards<String> stringConnections;
     private final BucketProperties bucketProperties;
+    private final StateLayout stateLayout;
+    private final ScriptExecutor scriptExecutor;
+    private final String instanceId = Long.toString(new SecureRandom().nextLong() >>> 1, Character.MAX_RADIX) + ':';
+    private final AtomicLong logSequence = new AtomicLong();
+
+    public BucketRedisTemplate(StatefulRedisConnection<String, AbstractTokenInfo> connection,
+                               StatefulRedisConnection<String, String> scriptConnection,
+                               BucketProperties bucketProperties) {
+        this(ConnectionShards.of(connection),
+             ConnectionShards.of(scriptConnection),
+             bucketProperties,
+             StateLayout.BLOB,
+             new SyncScriptExecutor(scriptConnection));
+    }
+
+    /**
+     * @param connections       BLOB 저장 형식용 커넥션 묶음
+     * @param stringConnections HASH 저장 형식용 커넥션 묶음
+     * @param scriptExecutor    처리율 판단 스크립트 실행기
+     */
+    public BucketRedisTemplate(ConnectionShards<AbstractTokenInfo> connections,
+                               ConnectionShards<String> stringConnections,
+                               BucketProperties bucketProperties,
+                               StateLayout stateLayout,
+                               ScriptExecutor scriptExecutor) {
+        this.connections = connections;
+        this.stringConnections = stringConnections;
+        this.bucketProperties = bucketProperties;
+        this.stateLayout = stateLayout;
+        this.scriptExecutor = scriptExecutor;
+    }
 
     @Override
     public AbstractTokenInfo getOrDefault(final String key, Class<? extends AbstractTokenInfo> clazz) {
-        RedisCommands<String, AbstractTokenInfo> syncCommands = connection.sync();
+        if (stateLayout == StateLayout.HASH) {
+            Map<String, String> fields = stringConnections.sync(key).hgetall(key);
+            return fields.isEmpty() ? newInstance(clazz) : HashFields.read(clazz, fields);
+        }
+        RedisClusterCommands<String, AbstractTokenInfo> syncCommands = connections.sync(key);
 
         return Optional.ofNullable(syncCommands.get(key))
-            .orElseGet(() -> {
-                try {
-                    return clazz.getDeclaredConstructor(BucketProperties.class).newInstance(bucketProperties);
-                } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-    }
-
-    @Override
-    public void save(String key, AbstractTokenInfo tokenInfo) {
-        RedisCommands<String, AbstractTokenInfo> syncCommands = connection.sync();
-        // Lettuce는 기본적으로 만료 시간을 세트할 때 `EX`(초) 또는 `PX`(밀리초) 옵션을 사용
-        syncCommands.setex(key, Duration.ofMillis(3_000).toSeconds(), tokenInfo);
+            .orElseGet(() -> newInstance(clazz));
     }
 
     /**
-     * Sorted Set에서 데이터를 가져오거나 기본값을 반환
-     *
-     * @param redisKey
-     * @param currentTimeMillis
-     * @param clazz
-     * @return
+     * <h2>토큰 정보 저장</h2>
+     * 만료 시간은 처리율 정책에서 정한다. {@link BucketProperties#stateTtlMillis()} <br/>
+     * - BLOB : 값 전체를 PSETEX 로 덮어쓴다. <br/>
+     * - HASH : 스크립트 한 번으로 저장된 값과 다른 필드만 기록하고 만료 시간을 지정하므로, 바뀌지 않은 필드는 다시 쓰지 않고 만료 시간 없는 키도 남지 않는다.
      */
     @Override
-    public AbstractTokenInfo getSortedSetOrDefault(String redisKey, long currentTimeMillis, Class<? extends AbstractTokenInfo> clazz) {
-        RedisCommands<String, AbstractTokenInfo> commands = connection.sync();
-        long minusTime = currentTimeMillis - bucketProperties.getRateUnit().toMillis();
-
-        List<ScoredValue<AbstractTokenInfo>> scoredValues =
-            commands.zrangebyscoreWithScores(redisKey, minusTime, currentTimeMillis);
-        if (!scoredValues.isEmpty()) {
-            return scoredValues.getFirst().getValue();
+    public void save(String key, AbstractTokenInfo tokenInfo) {
+        long ttlMillis = bucketProperties.stateTtlMillis();
+        if (stateLayout == StateLayout.HASH) {
+            Map<String, String> fields = HashFields.write(tokenInfo);
+            String[] args = new String[1 + fields.size() * 2];
+            args[0] = String.valueOf(ttlMillis);
+            int index = 1;
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                args[index++] = field.getKey();
+                args[index++] = field.getValue();
+            }
+            eval(RedisScript.HASH_SAVE, new String[] {key}, args);
+            return;
         }
+        RedisClusterCommands<String, AbstractTokenInfo> syncCommands = connections.sync(key);
+        syncCommands.psetex(key, ttlMillis, tokenInfo);
+    }
+
+    private AbstractTokenInfo newInstance(Class<? extends AbstractTokenInfo> clazz) {
         try {
             return clazz.getDeclaredConstructor(BucketProperties.class).newInstance(bucketProperties);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new RuntimeException("Error creating new instance", e);
+            throw new RuntimeException(e);
         }
     }
 
-    /**
-     * 이동 윈도우 score 조회
-     *
-     * @param redisKey
-     * @param currentTimeMillis
-     * @return
-     */
     @Override
-    public long getCurrentScore(String redisKey, long currentTimeMillis) {
-        RedisCommands<String, AbstractTokenInfo> commands = connection.sync();
-        long minusTime = currentTimeMillis - bucketProperties.getRateUnit().toMillis();
-        return commands.zcount(redisKey, minusTime, currentTimeMillis);
+    public ConsumeResult consumeTokenBucket(String key, int permits) {
+        List<Long> reply = eval(RedisScript.TOKEN_BUCKET,
+                                new String[] {key},
+                                String.valueOf(bucketProperties.getCapacity()),
+                                String.valueOf(bucketProperties.getRateUnit().toMillis()),
+                                String.valueOf(System.currentTimeMillis()),
+                                String.valueOf(permits));
+        return new ConsumeResult(reply.get(0) == 1L, reply.get(1), reply.get(2));
+    }
+
+    @Override
+    public ConsumeResult consumeSlidingWindowLog(String key, int permits) {
+        List<Long> reply = eval(RedisScript.SLIDING_WINDOW_LOG,
+                                new String[] {key},
+                                String.valueOf(bucketProperties.getRateUnit().toMillis()),
+                                String.valueOf(bucketProperties.getSlidingWindowLogging().getRequestLimit()),
+                                String.valueOf(System.currentTimeMillis()),
+                                String.valueOf(permits),
+                                nextLogMember());
+        return new ConsumeResult(reply.get(0) == 1L, reply.get(1), reply.get(2));
     }
 
     /**
-     * Sorted Set에 데이터 저장
-     *
-     * @param key
-     * @param tokenInfo
+     * <h2>이동 윈도우 카운터</h2>
+     * 윈도우 번호(요청 시각 / 윈도우 크기)를 접미사로 붙인 카운터 키 2개(현재, 이전)만 사용하므로 키당 메모리가 일정하다.
      */
     @Override
-    public void saveSortedSet(String key, AbstractTokenInfo tokenInfo) {
-        long currentTimestamp = Instant.now().toEpochMilli();
-        RedisCommands<String, AbstractTokenInfo> commands = connection.sync();
-        log.info("create key : {}", key);
-        commands.zadd(key, currentTimestamp, tokenInfo);
+    public ConsumeResult consumeSlidingWindowCounter(String key, int permits) {
+        long now = System.currentTimeMillis();
+        long window = bucketProperties.getRateUnit().toMillis();
+        long windowIndex = now / window;
+        List<Long> reply = eval(RedisScript.SLIDING_WINDOW_COUNTER,
+                                new String[] {windowKey(key, windowIndex), windowKey(key, windowIndex - 1)},
+                                String.valueOf(window),
+                                String.valueOf(bucketProperties.getSlidingWindowCounter().getRequestLimit()),
+                                String.valueOf(now),
+                                String.valueOf(permits));
+        return new ConsumeResult(reply.get(0) == 1L, reply.get(1), reply.get(2));
     }
 
     /**
-     * 처리가 완료 된 애들은 SCORE를 -1로 변경
-     *
-     * @param key
-     * @param tokenBucketInfo
+     * <h2>고정 윈도우 카운터</h2>
+     * 윈도우 크기는 window-size * rate-unit 이며, 키는 윈도우가 끝나는 시점에 만료된다.
      */
     @Override
-    public void removeSortedSet(String key, AbstractTokenInfo tokenBucketInfo) {
-        RedisCommands<String, AbstractTokenInfo> commands = connection.sync();
-        long minusTime = tokenBucketInfo.getLastRefillTimestamp() - bucketProperties.getRate();
-        List<AbstractTokenInfo> values = commands.zrangebyscore(key, minusTime, tokenBucketInfo.getLastRefillTimestamp());
-        values.stream()
-            .findFirst()
-            .ifPresent(lowestEntry -> {
-                log.info("Adding entry with score -1: {}", lowestEntry);
-                commands.zadd(key, -1, lowestEntry);
-            });
+    public ConsumeResult consumeFixedWindowCounter(String key, int permits) {
+        long now = System.currentTimeMillis();
+        long window = (long)bucketProperties.getFixedWindowCounter().getWindowSize() * bucketProperties.getRateUnit().toMillis();
+        long windowIndex = now / window;
+        List<Long> reply = eval(RedisScript.FIXED_WINDOW_COUNTER,
+                                new String[] {windowKey(key, windowIndex)},
+                                String.valueOf(bucketProperties.getFixedWindowCounter().getRequestLimit()),
+                                String.valueOf(window - now % window),
+                                String.valueOf(permits));
+        return new ConsumeResult(reply.get(0) == 1L, reply.get(1), reply.get(2));
     }
 
+    /**
+     * <h2>GCRA</h2>
+     * rate-unit 당 rate 개의 요청을 허용하고, 최대 capacity 개 까지 버스트를 허용한다.
+     */
     @Override
-    public long getSlidingWindowCount(String key, long currentTimeMillis) {
-        RedisCommands<String, AbstractTokenInfo> commands = connection.sync();
-
-        long currentWindowStart = currentTimeMillis - bucketProperties.getRateUnit().toMillis();
-        long previousWindowStart = currentWindowStart - bucketProperties.getRateUnit().toMillis();
-
-        double overlapRatio = (double)(currentTimeMillis - currentWindowStart) / bucketProperties.getRateUnit().toMillis();
+    public ConsumeResult consumeGcra(String key, int permits) {
+        long intervalMicros = bucketProperties.getRateUnit().toMillis() * 1_000L / Math.max(bucketProperties.getRate(), 1);
+        List<Long> reply = eval(RedisScript.GCRA,
+                                new String[] {key},
+                                String.valueOf(intervalMicros),
+                                String.valueOf(Math.max(bucketProperties.getCapacity(), 1)),
+                                String.valueOf(System.currentTimeMillis() * 1_000L),
+                                String.valueOf(permits));
+        return new ConsumeResult(reply.get(0) == 1L, reply.get(1), reply.get(2));
+    }
 
-        long currentWindowCount = commands.zcount(key, currentWindowStart, currentTimeMillis);
-        long previousWindowCount = commands.zcount(key, previousWindowStart, currentWindowStart);
+    /**
+     * <h2>윈도우 카운터 키</h2>
+     * 키에 hash tag 를 붙여, 같은 키의 현재/이전 윈도우 카운터가 Redis Cluster 에서 같은 slot 에 놓이도록 한다. <br/>
+     * 스크립트의 KEYS 가 모두 같은 slot 에 있어야 클러스터에서 실행할 수 있다.
+     */
+    private String windowKey(String key, long windowIndex) {
+        return CacheKeyBuilder.withHashTag(key) + ':' + windowIndex;
+    }
 
-        log.info("current currentWindowCount::{}, previousWindowCount::{}, overlapRatio::{}",
-                 currentWindowCount,
-                 previousWindowCount,
-                 overlapRatio);
+    /**
+     * <h2>이동 윈도우 로그 member 생성</h2>
+     * 인스턴스 식별자와 순번으로 만든 짧은 고유 값. 같은 시각의 요청도 서로 다른 member 로 기록된다.
+     *
+     * @return member
+     */
+    private String nextLogMember() {
+        return instanceId + Long.toString(logSequence.incrementAndGet(), Character.MAX_RADIX);
+    }
 
-        return Math.round(currentWindowCount + previousWindowCount * overlapRatio);
+    private List<Long> eval(RedisScript script, String[] keys, String... args) {
+        return scriptExecutor.eval(script, keys, args);
     }
 
 }
@@ -7,6 +7,7 @@ import com.innercicle.domain.AbstractTokenInfo;
  * cache-type 별로 구현체를 만들어서 사용한다.
  *
  * @see com.innercicle.cache.BucketRedisTemplate
+ * @see com.innercicle.cache.LocalCacheTemplate
  */
 public interface CacheTemplate {
 
@@ -14,14 +15,54 @@ public interface CacheTemplate {
 
     void save(String key, AbstractTokenInfo tokenInfo);
 
-    AbstractTokenInfo getSortedSetOrDefault(String key, long currentTimeMillis, Class<? extends AbstractTokenInfo> clazz);
+    /**
+     * <h2>토큰 버킷 원자적 차감</h2>
+     * 리필, 판단, 차감을 하나의 원자적 연산으로 수행한다.
+     *
+     * @param key     버킷 키
+     * @param permits 차감할 토큰 수
+     * @return 차감 결과
+     */
+    ConsumeResult consumeTokenBucket(String key, int permits);
 
-    void saveSortedSet(String key, AbstractTokenInfo tokenInfo);
+    /**
+     * <h2>이동 윈도우 로그 원자적 기록</h2>
+     * 윈도우를 벗어난 로그를 정리한 뒤, 제한 이내인 경우에만 요청을 기록한다.
+     *
+     * @param key     로그 키
+     * @param permits 기록할 요청 수
+     * @return 기록 결과
+     */
+    ConsumeResult consumeSlidingWindowLog(String key, int permits);
 
-    void removeSortedSet(String key, AbstractTokenInfo tokenBucketInfo);
+    /**
+     * <h2>이동 윈도우 카운터 원자적 증가</h2>
+     * 현재/이전 고정 윈도우 카운터로 가중 추정치를 계산하고, 제한 이내인 경우에만 현재 윈도우 카운터를 증가시킨다.
+     *
+     * @param key     카운터 키
+     * @param permits 증가시킬 요청 수
+     * @return 증가 결과
+     */
+    ConsumeResult consumeSlidingWindowCounter(String key, int permits);
 
-    long getCurrentScore(String key, long currentTimeMillis);
+    /**
+     * <h2>고정 윈도우 카운터 원자적 증가</h2>
+     * 윈도우 번호가 포함된 카운터 키를 제한 이내인 경우에만 증가시킨다.
+     *
+     * @param key     카운터 키
+     * @param permits 증가시킬 요청 수
+     * @return 증가 결과
+     */
+    ConsumeResult consumeFixedWindowCounter(String key, int permits);
 
-    long getSlidingWindowCount(String key, long currentTimeMillis);
+    /**
+     * <h2>GCRA 원자적 판단</h2>
+     * 키당 이론적 도착 시각(TAT) 하나만 저장하고, 허용된 경우에만 TAT 를 갱신한다.
+     *
+     * @param key     TAT 키
+     * @param permits 요청 수
+     * @return 판단 결과
+     */
+    ConsumeResult consumeGcra(String key, int permits);
 
 }
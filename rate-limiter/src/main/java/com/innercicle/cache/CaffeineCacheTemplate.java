@@ -0,0 +1,65 @@
+package com.innercicle.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.innercicle.domain.BucketProperties;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <h2>Caffeine 캐시 템플릿</h2>
+ * 알고리즘별 계산은 {@link LocalCacheTemplate} 과 같고, 상태 저장소로 Caffeine 캐시를 사용한다. cache-type 이 caffeine 인 경우 사용한다. <br/>
+ * - 최대 크기는 Caffeine 의 W-TinyLFU 로 제한하므로, 한 번만 들어온 새 키가 몰려도 자주 사용되는 키(제한에 걸린 키 포함)는 남는다. <br/>
+ * - 항목별 만료 시간을 Caffeine 에 그대로 지정하므로, 만료된 항목은 크기 초과와 관계 없이 정리된다. <br/>
+ * - 정리는 Caffeine 의 유지보수 작업으로 executor 에서 수행한다.
+ */
+public class CaffeineCacheTemplate extends LocalCacheTemplate {
+
+    public CaffeineCacheTemplate(BucketProperties bucketProperties, long maximumSize) {
+        this(bucketProperties, maximumSize, System::currentTimeMillis, ForkJoinPool.commonPool());
+    }
+
+    CaffeineCacheTemplate(BucketProperties bucketProperties, long maximumSize, LongSupplier clock, Executor executor) {
+        super(bucketProperties, store(maximumSize, clock, executor), Long.MAX_VALUE, clock, Runnable::run);
+    }
+
+    private static ConcurrentMap<String, Entry> store(long maximumSize, LongSupplier clock, Executor executor) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new EntryExpiry(clock))
+            .executor(executor)
+            .<String, Entry>build()
+            .asMap();
+    }
+
+    /**
+     * 생성, 갱신, 조회 모두 항목의 현재 만료 시각으로 다시 계산한다.
+     */
+    private record EntryExpiry(LongSupplier clock) implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return duration(entry);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return duration(entry);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return duration(entry);
+        }
+
+        private long duration(Entry entry) {
+            return TimeUnit.MILLISECONDS.toNanos(entry.expiresAfter(clock.getAsLong()));
+        }
+
+    }
+
+}
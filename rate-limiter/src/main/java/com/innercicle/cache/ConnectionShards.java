@@ -0,0 +1,98 @@
+package com.innercicle.cache;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import io.lettuce.core.codec.RedisCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>키 해시로 나눈 Redis 커넥션 묶음</h2>
+ * 커넥션 하나에 모든 요청 스레드가 몰리면 sync 명령이 하나의 채널에서 차례로 대기하므로, 키 해시로 커넥션을 골라 나누어 사용한다. <br/>
+ * - 같은 키는 항상 같은 커넥션을 사용하므로, 한 키에 대한 명령 순서는 커넥션 하나일 때와 같다. <br/>
+ * - 커넥션 수가 1 이면 해시를 계산하지 않는다. <br/>
+ * - 단일 서버와 클러스터 커넥션을 같은 명령 인터페이스({@link RedisClusterCommands})로 다룬다. 클러스터 커넥션은 키의 slot 으로 노드를 고른다.
+ *
+ * @param <V> 값 타입
+ */
+public final class ConnectionShards<V> implements AutoCloseable {
+
+    private final StatefulConnection<String, V>[] connections;
+    private final RedisClusterCommands<String, V>[] commands;
+
+    public ConnectionShards(List<StatefulRedisConnection<String, V>> connections) {
+        this(connections, connections.stream().<RedisClusterCommands<String, V>>map(StatefulRedisConnection::sync).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConnectionShards(List<? extends StatefulConnection<String, V>> connections, List<RedisClusterCommands<String, V>> commands) {
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("커넥션이 하나 이상 있어야 합니다.");
+        }
+        this.connections = connections.toArray(new StatefulConnection[0]);
+        this.commands = commands.toArray(new RedisClusterCommands[0]);
+    }
+
+    public static <V> ConnectionShards<V> of(StatefulRedisConnection<String, V> connection) {
+        return new ConnectionShards<>(List.of(connection));
+    }
+
+    /**
+     * <h2>커넥션 생성</h2>
+     *
+     * @param redisClient 단일 서버({@link RedisClient}) 또는 클러스터({@link RedisClusterClient}) 클라이언트
+     * @param codec       코덱
+     * @param size        커넥션 수
+     */
+    public static <V> ConnectionShards<V> connect(AbstractRedisClient redisClient, RedisCodec<String, V> codec, int size) {
+        int count = Math.max(size, 1);
+        List<StatefulConnection<String, V>> connections = new ArrayList<>(count);
+        List<RedisClusterCommands<String, V>> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (redisClient instanceof RedisClusterClient clusterClient) {
+                StatefulRedisClusterConnection<String, V> connection = clusterClient.connect(codec);
+                connections.add(connection);
+                commands.add(connection.sync());
+            } else if (redisClient instanceof RedisClient client) {
+                StatefulRedisConnection<String, V> connection = client.connect(codec);
+                connections.add(connection);
+                commands.add(connection.sync());
+            } else {
+                throw new IllegalArgumentException("지원하지 않는 Redis 클라이언트입니다. : " + redisClient.getClass().getName());
+            }
+        }
+        return new ConnectionShards<>(connections, commands);
+    }
+
+    /**
+     * <h2>키에 해당하는 커넥션의 sync 명령</h2>
+     *
+     * @param key Redis 키
+     * @return sync 명령
+     */
+    public RedisClusterCommands<String, V> sync(String key) {
+        if (commands.length == 1) {
+            return commands[0];
+        }
+        int hash = key.hashCode();
+        return commands[Math.floorMod(hash ^ hash >>> 16, commands.length)];
+    }
+
+    public int size() {
+        return connections.length;
+    }
+
+    @Override
+    public void close() {
+        for (StatefulConnection<String, V> connection : connections) {
+            connection.close();
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.innercicle.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * <h2>원자적 차감 결과</h2>
+ * 캐시 저장소에서 판단과 차감을 한 번에 수행한 결과.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ConsumeResult {
+
+    /**
+     * 허용 여부
+     */
+    private final boolean allowed;
+
+    /**
+     * 남은 요청 수
+     */
+    private final long remaining;
+
+    /**
+     * 다음 요청이 허용될 때까지 대기 시간(ms), 허용된 경우 0
+     */
+    private final long retryAfterMillis;
+
+}
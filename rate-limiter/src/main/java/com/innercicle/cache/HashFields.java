@@ -0,0 +1,61 @@
+package com.innercicle.cache;
+
+import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.domain.TokenInfoReader;
+import com.innercicle.domain.TokenInfoWriter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <h2>토큰 정보 ↔ Redis 해시 필드 변환</h2>
+ * 필드 이름은 토큰 정보의 writeTo 에서 사용하는 이름 그대로이며, 값은 10진수 문자열이다. <br/>
+ * 저장된 해시에 없는 필드는 0 으로 읽으므로, 필드가 추가되어도 기존 키를 그대로 읽을 수 있다.
+ */
+final class HashFields {
+
+    private HashFields() {
+    }
+
+    static Map<String, String> write(AbstractTokenInfo tokenInfo) {
+        Map<String, String> fields = new HashMap<>();
+        tokenInfo.writeTo(new TokenInfoWriter() {
+            @Override
+            public TokenInfoWriter putInt(String name, int value) {
+                fields.put(name, Integer.toString(value));
+                return this;
+            }
+
+            @Override
+            public TokenInfoWriter putLong(String name, long value) {
+                fields.put(name, Long.toString(value));
+                return this;
+            }
+        });
+        return fields;
+    }
+
+    static AbstractTokenInfo read(Class<? extends AbstractTokenInfo> clazz, Map<String, String> fields) {
+        AbstractTokenInfo tokenInfo;
+        try {
+            tokenInfo = clazz.getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new IllegalStateException("기본 생성자로 토큰 정보를 만들 수 없습니다. : " + clazz.getName(), e);
+        }
+        tokenInfo.readFrom(new TokenInfoReader() {
+            @Override
+            public int getInt(String name) {
+                return (int)getLong(name);
+            }
+
+            @Override
+            public long getLong(String name) {
+                String value = fields.get(name);
+                return value == null ? 0L : Long.parseLong(value);
+            }
+        });
+        return tokenInfo;
+    }
+
+}
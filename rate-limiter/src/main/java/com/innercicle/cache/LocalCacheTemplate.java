@@ -0,0 +1,398 @@
+package com.innercicle.cache;
+
+import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.domain.BucketProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * <h2>로컬 메모리 캐시 템플릿</h2>
+ * 네트워크 없이 JVM 내부에서 처리율 제한 상태를 관리한다. cache-type 이 simple 인 경우 사용하며, caffeine 은 {@link CaffeineCacheTemplate} 을 사용한다. <br/>
+ * - 키 단위 판단과 갱신은 {@link ConcurrentHashMap#compute} 안에서 수행하므로 원자적이다.
+ * 토큰 버킷은 {@link PackedTokenBucket} 의 CAS 로 처리한다. <br/>
+ * - 알고리즘별 계산은 {@link BucketRedisTemplate} 의 Lua 스크립트와 같다. <br/>
+ * - 만료 시간이 지난 항목은 없는 것으로 취급한다. <br/>
+ * - 최대 크기를 넘으면 요청 스레드가 아닌 별도 스레드에서 만료된 항목을, 그래도 넘으면 가장 오래 사용하지 않은 항목을 정리한다. <br/>
+ * - 요청 수가 0 이면 상태를 바꾸지 않고 조회만 한다.
+ */
+@Slf4j
+public class LocalCacheTemplate implements CacheTemplate {
+
+    private final ConcurrentMap<String, Entry> store;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final BucketProperties bucketProperties;
+    private final long maximumSize;
+    private final LongSupplier clock;
+    private final Executor evictor;
+
+    public LocalCacheTemplate(BucketProperties bucketProperties, long maximumSize) {
+        this(bucketProperties, maximumSize, System::currentTimeMillis, ForkJoinPool.commonPool());
+    }
+
+    LocalCacheTemplate(BucketProperties bucketProperties, long maximumSize, LongSupplier clock, Executor evictor) {
+        this(bucketProperties, new ConcurrentHashMap<>(), maximumSize, clock, evictor);
+    }
+
+    /**
+     * @param store       키 단위 compute 가 원자적인 저장소
+     * @param maximumSize 최대 키 개수, 저장소가 직접 크기를 제한하면 {@link Long#MAX_VALUE}
+     * @param evictor     최대 크기 초과 시 정리를 수행할 실행기
+     */
+    LocalCacheTemplate(BucketProperties bucketProperties,
+                       ConcurrentMap<String, Entry> store,
+                       long maximumSize,
+                       LongSupplier clock,
+                       Executor evictor) {
+        this.bucketProperties = bucketProperties;
+        this.store = store;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.evictor = evictor;
+    }
+
+    @Override
+    public AbstractTokenInfo getOrDefault(String key, Class<? extends AbstractTokenInfo> clazz) {
+        long now = clock.getAsLong();
+        Entry entry = store.get(key);
+        if (entry != null && !entry.isExpired(now) && clazz.isInstance(entry.state)) {
+            entry.lastAccess = now;
+            return (AbstractTokenInfo)entry.state;
+        }
+        return newInstance(clazz);
+    }
+
+    @Override
+    public void save(String key, AbstractTokenInfo tokenInfo) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(tokenInfo, now);
+        entry.expiresAt = now + bucketProperties.stateTtlMillis(); // BucketRedisTemplate 과 같은 보관 시간
+        if (store.put(key, entry) == null) {
+            evictIfNecessary();
+        }
+    }
+
+    private AbstractTokenInfo newInstance(Class<? extends AbstractTokenInfo> clazz) {
+        try {
+            return clazz.getDeclaredConstructor(BucketProperties.class).newInstance(bucketProperties);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * <h2>토큰 버킷</h2>
+     * 상태 : {@link PackedTokenBucket}, 키 조회 이후의 판단과 차감은 Lock 없이 CAS 로 수행한다. <br/>
+     * 조회와 차감 사이에 정리 스레드가 가득 찬 버킷을 제거하면, 저장소에서 빠진 버킷에서 차감되어 사용량이 사라진다.
+     * 따라서 차감 후 같은 항목이 저장소에 남아 있는지 확인하고, 빠졌으면 현재 항목에서 다시 차감한다.
+     * 차감된 버킷은 가득 차 있지 않으므로 확인 이후에는 만료로 제거되지 않는다.
+     */
+    @Override
+    public ConsumeResult consumeTokenBucket(String key, int permits) {
+        long now = clock.getAsLong();
+        while (true) {
+            Entry entry = store.get(key);
+            if (entry == null || !(entry.state instanceof PackedTokenBucket)) {
+                boolean[] created = new boolean[1];
+                entry = store.compute(key, (k, current) -> {
+                    if (current != null && current.state instanceof PackedTokenBucket) {
+                        return current;
+                    }
+                    created[0] = true;
+                    return new Entry(new PackedTokenBucket(bucketProperties.getCapacity(),
+                                                           bucketProperties.getRateUnit().toMillis(),
+                                                           now), now);
+                });
+                if (created[0]) {
+                    evictIfNecessary();
+                }
+            } else {
+                entry.lastAccess = now;
+            }
+            ConsumeResult result = ((PackedTokenBucket)entry.state).tryConsume(permits, now);
+            if (permits == 0 || store.get(key) == entry) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * <h2>이동 윈도우 로그</h2>
+     * 상태 : 요청 제한 수 크기의 요청 시각 링 버퍼
+     */
+    @Override
+    public ConsumeResult consumeSlidingWindowLog(String key, int permits) {
+        long now = clock.getAsLong();
+        long window = bucketProperties.getRateUnit().toMillis();
+        int limit = bucketProperties.getSlidingWindowLogging().getRequestLimit();
+        return execute(key, now, TimestampLog.class, () -> new TimestampLog(limit), (timestamps, entry) -> {
+            int count = timestamps.trim(now - window);
+            if (count + permits > limit) {
+                long retryAfter = window;
+                int index = count + permits - limit - 1;
+                if (index < count) {
+                    retryAfter = timestamps.get(index) + window - now;
+                }
+                return new ConsumeResult(false, Math.max(limit - count, 0), retryAfter);
+            }
+            if (permits > 0) {
+                for (int i = 0; i < permits; i++) {
+                    timestamps.add(now);
+                }
+                entry.expiresAt = now + window;
+            }
+            return new ConsumeResult(true, limit - count - permits, 0);
+        });
+    }
+
+    /**
+     * <h2>이동 윈도우 카운터</h2>
+     * 상태 : {윈도우 번호, 현재 윈도우 카운트, 이전 윈도우 카운트}
+     */
+    @Override
+    public ConsumeResult consumeSlidingWindowCounter(String key, int permits) {
+        long now = clock.getAsLong();
+        long window = bucketProperties.getRateUnit().toMillis();
+        long limit = bucketProperties.getSlidingWindowCounter().getRequestLimit();
+        long windowIndex = now / window;
+        return execute(key, now, long[].class, () -> new long[] {windowIndex, 0, 0}, (state, entry) -> {
+            if (state[0] != windowIndex) {
+                state[2] = state[0] == windowIndex - 1 ? state[1] : 0;
+                state[1] = 0;
+                state[0] = windowIndex;
+            }
+            long current = state[1];
+            long previous = state[2];
+            long elapsed = now % window;
+            double estimated = (double)previous * (window - elapsed) / window + current;
+            if (estimated + permits > limit) {
+                long retryAfter;
+                if (current + permits > limit) {
+                    retryAfter = window - elapsed;
+                    if (current > 0) {
+                        retryAfter += Math.max(0, (long)Math.ceil(window * (1 - (double)(limit - permits) / current)));
+                    }
+                } else {
+                    retryAfter = (long)Math.ceil(window * (1 - (double)(limit - permits - current) / previous)) - elapsed;
+                }
+                return new ConsumeResult(false, Math.max((long)Math.floor(limit - estimated), 0), Math.max(retryAfter, 1));
+            }
+            if (permits > 0) {
+                state[1] += permits;
+                entry.expiresAt = (windowIndex + 2) * window;
+            }
+            return new ConsumeResult(true, (long)Math.floor(limit - estimated - permits), 0);
+        });
+    }
+
+    /**
+     * <h2>고정 윈도우 카운터</h2>
+     * 상태 : {윈도우 번호, 현재 윈도우 카운트}
+     */
+    @Override
+    public ConsumeResult consumeFixedWindowCounter(String key, int permits) {
+        long now = clock.getAsLong();
+        long window = (long)bucketProperties.getFixedWindowCounter().getWindowSize() * bucketProperties.getRateUnit().toMillis();
+        long limit = bucketProperties.getFixedWindowCounter().getRequestLimit();
+        long windowIndex = now / window;
+        return execute(key, now, long[].class, () -> new long[] {windowIndex, 0}, (state, entry) -> {
+            if (state[0] != windowIndex) {
+                state[0] = windowIndex;
+                state[1] = 0;
+            }
+            long untilReset = window - now % window;
+            if (state[1] + permits > limit) {
+                return new ConsumeResult(false, Math.max(limit - state[1], 0), untilReset);
+            }
+            if (permits > 0) {
+                state[1] += permits;
+                entry.expiresAt = now + untilReset;
+            }
+            return new ConsumeResult(true, limit - state[1], 0);
+        });
+    }
+
+    /**
+     * <h2>GCRA</h2>
+     * 상태 : {이론적 도착 시각(us)}
+     */
+    @Override
+    public ConsumeResult consumeGcra(String key, int permits) {
+        long now = clock.getAsLong() * 1_000L;
+        long interval = bucketProperties.getRateUnit().toMillis() * 1_000L / Math.max(bucketProperties.getRate(), 1);
+        long tolerance = interval * Math.max(bucketProperties.getCapacity(), 1);
+        return execute(key, now / 1_000L, long[].class, () -> new long[] {now}, (state, entry) -> {
+            long tat = Math.max(state[0], now);
+            long newTat = tat + interval * permits;
+            long allowAt = newTat - tolerance;
+            if (allowAt > now) {
+                long remaining = Math.max((now - (tat - tolerance)) / interval, 0);
+                return new ConsumeResult(false, remaining, (allowAt - now + 999) / 1_000L);
+            }
+            if (permits > 0) {
+                state[0] = newTat;
+                entry.expiresAt = (newTat + 999) / 1_000L;
+            }
+            return new ConsumeResult(true, (now - allowAt) / interval, 0);
+        });
+    }
+
+    /**
+     * <h2>키 단위 원자적 실행</h2>
+     * 항목이 없거나 만료된 경우 초기 상태로 시작한다. 연산에서 만료 시간을 지정하지 않은 새 항목은 다음 조회 시 없는 것으로 취급된다.
+     *
+     * @param key       키
+     * @param now       현재 시각(ms)
+     * @param stateType 상태 타입
+     * @param initial   초기 상태
+     * @param operation 판단 및 갱신 연산
+     * @return 연산 결과
+     */
+    private <S> ConsumeResult execute(String key, long now, Class<S> stateType, Supplier<S> initial, Operation<S> operation) {
+        ConsumeResult[] result = new ConsumeResult[1];
+        boolean[] created = new boolean[1];
+        store.compute(key, (k, entry) -> {
+            if (entry == null || entry.isExpired(now) || !stateType.isInstance(entry.state)) {
+                entry = new Entry(initial.get(), now);
+                created[0] = true;
+            } else {
+                entry.lastAccess = now;
+            }
+            result[0] = operation.apply(stateType.cast(entry.state), entry);
+            return entry;
+        });
+        if (created[0]) {
+            evictIfNecessary();
+        }
+        return result[0];
+    }
+
+    /**
+     * <h2>최대 크기 초과 시 정리 요청</h2>
+     * 정리는 evictor 에서 한 번에 하나만 수행하고, 요청 스레드는 기다리지 않는다.
+     */
+    private void evictIfNecessary() {
+        if (store.size() > maximumSize && evicting.compareAndSet(false, true)) {
+            evictor.execute(this::evict);
+        }
+    }
+
+    /**
+     * <h2>최대 크기 초과 시 정리</h2>
+     * 만료된 항목을 먼저 제거하고, 그래도 최대 크기를 넘으면 최대 크기의 90% 가 될 때까지 마지막 사용 시각이 오래된 항목부터 제거한다. <br/>
+     * 제한에 걸린 키는 계속 요청을 받아 최근에 사용된 상태이므로, 새 키가 몰려도 한도가 초기화되지 않는다. <br/>
+     * 제거는 키 단위 compute 안에서 다시 확인하므로, 확인 이후 사용된 항목은 제거하지 않는다.
+     */
+    private void evict() {
+        try {
+            long now = clock.getAsLong();
+            for (String key : store.keySet()) {
+                store.computeIfPresent(key, (k, entry) -> entry.isExpired(now) ? null : entry);
+            }
+            long target = maximumSize - maximumSize / 10;
+            int excess = (int)Math.min(store.size() - target, Integer.MAX_VALUE);
+            if (excess > 0) {
+                List<Map.Entry<String, Long>> accesses = new ArrayList<>(store.size());
+                store.forEach((key, entry) -> accesses.add(Map.entry(key, entry.lastAccess)));
+                accesses.sort(Map.Entry.comparingByValue());
+                for (int i = 0; i < accesses.size() && store.size() > target; i++) {
+                    long lastAccess = accesses.get(i).getValue();
+                    store.computeIfPresent(accesses.get(i).getKey(), (k, entry) -> entry.lastAccess <= lastAccess ? null : entry);
+                }
+            }
+            log.debug("로컬 캐시 정리 완료, size : {}", store.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    long size() {
+        return store.size();
+    }
+
+    @FunctionalInterface
+    private interface Operation<S> {
+
+        ConsumeResult apply(S state, Entry entry);
+
+    }
+
+    static final class Entry {
+
+        private final Object state;
+        /**
+         * compute 밖(조회, Caffeine 만료 계산)에서도 읽으므로 volatile
+         */
+        private volatile long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(Object state, long now) {
+            this.state = state;
+            this.lastAccess = now;
+        }
+
+        private boolean isExpired(long now) {
+            if (this.state instanceof PackedTokenBucket tokenBucket) {
+                return tokenBucket.isFull(now);
+            }
+            return this.expiresAt <= now;
+        }
+
+        /**
+         * 지금부터 만료될 때까지 남은 시간(ms), 토큰 버킷은 CAS 로 차감되므로 다시 가득 찰 때까지의 최대 시간을 사용한다.
+         */
+        long expiresAfter(long now) {
+            if (this.state instanceof PackedTokenBucket tokenBucket) {
+                return tokenBucket.refillMillis();
+            }
+            return Math.max(this.expiresAt - now, 0);
+        }
+
+    }
+
+    /**
+     * 요청 시각을 오래된 순서로 보관하는 고정 크기 링 버퍼
+     */
+    private static final class TimestampLog {
+
+        private final long[] timestamps;
+        private int head;
+        private int size;
+
+        private TimestampLog(int capacity) {
+            this.timestamps = new long[Math.max(capacity, 1)];
+        }
+
+        /**
+         * threshold 이하의 요청 시각을 제거하고 남은 개수를 반환한다.
+         */
+        private int trim(long threshold) {
+            while (size > 0 && timestamps[head] <= threshold) {
+                head = (head + 1) % timestamps.length;
+                size--;
+            }
+            return size;
+        }
+
+        private long get(int index) {
+            return timestamps[(head + index) % timestamps.length];
+        }
+
+        private void add(long timestamp) {
+            timestamps[(head + size) % timestamps.length] = timestamp;
+            size++;
+        }
+
+    }
+
+}
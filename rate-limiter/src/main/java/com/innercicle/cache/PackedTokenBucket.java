@@ -0,0 +1,84 @@
+package com.innercicle.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h2>Lock-free 토큰 버킷</h2>
+ * 남은 토큰 수와 마지막 리필 시각을 하나의 long 에 담아 {@link AtomicLong} CAS 로 갱신한다. <br/>
+ * - 상위 24 bit : 남은 토큰 수 (최대 16,777,215) <br/>
+ * - 하위 40 bit : 생성 시각 기준 마지막 리필 시각(ms), 약 34년 <br/>
+ * 거절된 요청은 상태를 쓰지 않으므로, 같은 키에 요청이 몰려도 CAS 경합은 허용된 요청 사이에서만 발생한다.
+ */
+final class PackedTokenBucket {
+
+    private static final int TIMESTAMP_BITS = 40;
+    private static final long TIMESTAMP_MASK = (1L << TIMESTAMP_BITS) - 1;
+    static final long MAX_CAPACITY = (1L << (Long.SIZE - TIMESTAMP_BITS)) - 1;
+
+    private final long capacity;
+    private final long interval;
+    private final long epoch;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity 버킷 용량
+     * @param interval 토큰 1개가 채워지는 간격(ms)
+     * @param now      생성 시각(ms), 가득 찬 상태로 시작한다.
+     */
+    PackedTokenBucket(long capacity, long interval, long now) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("토큰 버킷 용량은 0 ~ " + MAX_CAPACITY + " 사이여야 합니다. : " + capacity);
+        }
+        this.capacity = capacity;
+        this.interval = interval;
+        this.epoch = now;
+        this.state = new AtomicLong(pack(capacity, 0));
+    }
+
+    ConsumeResult tryConsume(int permits, long now) {
+        long offset = now - epoch;
+        while (true) {
+            long current = state.get();
+            long tokens = current >>> TIMESTAMP_BITS;
+            long timestamp = current & TIMESTAMP_MASK;
+            if (offset > timestamp) {
+                long refill = (offset - timestamp) / interval;
+                if (refill > 0) {
+                    tokens = Math.min(capacity, tokens + refill);
+                    timestamp += refill * interval;
+                }
+            }
+            if (tokens >= capacity) {
+                timestamp = Math.max(offset, 0);
+            }
+            if (tokens < permits) {
+                return new ConsumeResult(false, tokens, (permits - tokens) * interval - (offset - timestamp));
+            }
+            if (state.compareAndSet(current, pack(tokens - permits, timestamp))) {
+                return new ConsumeResult(true, tokens - permits, 0);
+            }
+        }
+    }
+
+    /**
+     * 가득 찬 버킷은 새로 만든 버킷과 같으므로 만료된 것으로 취급할 수 있다.
+     */
+    boolean isFull(long now) {
+        long current = state.get();
+        long tokens = current >>> TIMESTAMP_BITS;
+        long timestamp = current & TIMESTAMP_MASK;
+        return tokens + (now - epoch - timestamp) / interval >= capacity;
+    }
+
+    /**
+     * 마지막 차감 이후 이 시간이 지나면 버킷은 반드시 가득 찬다. 조회와 차감 사이의 지연을 고려해 토큰 1개 간격을 더한다.
+     */
+    long refillMillis() {
+        return (capacity + 1) * interval;
+    }
+
+    private static long pack(long tokens, long timestamp) {
+        return tokens << TIMESTAMP_BITS | timestamp & TIMESTAMP_MASK;
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.innercicle.cache;
+
+import io.lettuce.core.*;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h2>파이프라인 스크립트 실행기</h2>
+ * 자동 flush 를 끈 전용 커넥션에 동시 요청의 명령을 쌓아 두고, 모아서 한 번에 전송한다. <br/>
+ * - 쌓인 명령이 batchSize 개가 되면 명령을 보낸 요청 스레드가 바로 전송한다. <br/>
+ * - 그보다 적으면 첫 명령이 쌓인 뒤 flushInterval 이 지나 전송 스레드가 전송하므로, 한가한 시간의 지연은 최대 flushInterval 만큼 늘어난다. <br/>
+ * - 전송 스레드는 쌓인 명령이 없으면 깨울 때까지 멈춰 있으므로, 요청이 없을 때는 주기적으로 깨어나지 않는다. <br/>
+ * 자동 flush 설정은 커넥션 단위이므로 다른 용도와 공유하지 않는 커넥션을 넘겨야 하며, 종료 시 커넥션도 함께 닫는다.
+ */
+@Slf4j
+public class PipelinedScriptExecutor implements ScriptExecutor, AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 32;
+    public static final long DEFAULT_FLUSH_INTERVAL_MICROS = 200;
+
+    private final StatefulConnection<String, String> connection;
+    private final RedisClusterAsyncCommands<String, String> commands;
+    private final int batchSize;
+    private final Duration timeout;
+    private final long flushIntervalNanos;
+    private final boolean cluster;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param connection    전용 커넥션
+     * @param batchSize     한 번에 전송할 명령 수
+     * @param flushInterval 명령이 batchSize 개가 되지 않아도 전송하는 주기
+     */
+    public PipelinedScriptExecutor(StatefulRedisConnection<String, String> connection, int batchSize, Duration flushInterval) {
+        this(connection, connection.async(), false, batchSize, flushInterval);
+    }
+
+    /**
+     * 클러스터 커넥션은 키의 slot 으로 노드를 골라 노드별 커넥션에 쌓고, flush 시 모든 노드로 함께 전송한다. <br/>
+     * MOVED/ASK 응답을 받은 명령은 Lettuce 가 다른 노드의 버퍼에 다시 쌓아 두고 명시적인 flush 때만 전송하므로,
+     * 응답을 기다리는 요청이 있는 동안에는 이 실행기가 쌓은 명령이 없어도 flushInterval 마다 전송한다.
+     *
+     * @param connection    전용 클러스터 커넥션
+     * @param batchSize     한 번에 전송할 명령 수
+     * @param flushInterval 명령이 batchSize 개가 되지 않아도 전송하는 주기
+     */
+    public PipelinedScriptExecutor(StatefulRedisClusterConnection<String, String> connection, int batchSize, Duration flushInterval) {
+        this(connection, connection.async(), true, batchSize, flushInterval);
+    }
+
+    private PipelinedScriptExecutor(StatefulConnection<String, String> connection,
+                                    RedisClusterAsyncCommands<String, String> commands,
+                                    boolean cluster,
+                                    int batchSize,
+                                    Duration flushInterval) {
+        if (batchSize < 1 || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("batchSize 와 flushInterval 은 0 보다 커야 합니다.");
+        }
+        this.connection = connection;
+        this.connection.setAutoFlushCommands(false);
+        this.commands = commands;
+        this.cluster = cluster;
+        this.batchSize = batchSize;
+        this.timeout = connection.getTimeout();
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flusher = new Thread(this::runFlusher, "rate-limiter-pipeline-flush");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * <h2>전용 커넥션을 만들어 생성</h2>
+     *
+     * @param redisClient 단일 서버({@link RedisClient}) 또는 클러스터({@link RedisClusterClient}) 클라이언트
+     */
+    public static PipelinedScriptExecutor connect(AbstractRedisClient redisClient, int batchSize, Duration flushInterval) {
+        if (redisClient instanceof RedisClusterClient clusterClient) {
+            return new PipelinedScriptExecutor(clusterClient.connect(StringCodec.UTF8), batchSize, flushInterval);
+        }
+        if (redisClient instanceof RedisClient client) {
+            return new PipelinedScriptExecutor(client.connect(StringCodec.UTF8), batchSize, flushInterval);
+        }
+        throw new IllegalArgumentException("지원하지 않는 Redis 클라이언트입니다. : " + redisClient.getClass().getName());
+    }
+
+    @Override
+    public List<Long> eval(RedisScript script, String[] keys, String... args) {
+        if (outstanding.incrementAndGet() == 1 && cluster) {
+            LockSupport.unpark(flusher);
+        }
+        try {
+            RedisFuture<List<Long>> future = commands.evalsha(script.getSha(), ScriptOutputType.MULTI, keys, args);
+            enqueued();
+            try {
+                return await(future);
+            } catch (RedisNoScriptException e) {
+                log.debug("스크립트 캐시 없음, EVAL 로 재시도 : {}", script);
+                RedisFuture<List<Long>> retry = commands.eval(script.getSource(), ScriptOutputType.MULTI, keys, args);
+                // 드물게 발생하는 재시도는 다음 주기를 기다리지 않고 바로 전송
+                pending.incrementAndGet();
+                flush(false);
+                return await(retry);
+            }
+        } finally {
+            outstanding.decrementAndGet();
+        }
+    }
+
+    private void enqueued() {
+        int count = pending.incrementAndGet();
+        if (count >= batchSize) {
+            flush(false);
+        } else if (count == 1) {
+            // 쌓인 명령이 없어 멈춰 있던 전송 스레드를 깨운다. 아직 멈추기 전이면 다음 park 가 바로 반환된다.
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    /**
+     * <h2>전송 스레드</h2>
+     * 할 일이 없으면 깨울 때까지 멈춰 있고, 있으면 flushInterval 만큼 더 모은 뒤 전송한다. <br/>
+     * 클러스터 커넥션은 다시 보낼 명령이 노드 버퍼에 남아 있을 수 있으므로, 응답을 기다리는 요청이 있는 동안 매번 전송한다.
+     */
+    private void runFlusher() {
+        while (running) {
+            if (cluster ? outstanding.get() == 0 : pending.get() == 0) {
+                LockSupport.park(this);
+                continue;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush(cluster);
+        }
+    }
+
+    /**
+     * 다른 스레드가 이미 전송했으면 force 가 아닌 경우 아무것도 하지 않는다. flushCommands 는 여러 스레드에서 호출해도 안전하다.
+     */
+    private void flush(boolean force) {
+        if (pending.getAndSet(0) > 0 || force) {
+            connection.flushCommands();
+        }
+    }
+
+    private List<Long> await(RedisFuture<List<Long>> future) {
+        return LettuceFutures.awaitOrCancel(future, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(flusher);
+        connection.flushCommands();
+        connection.close();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.innercicle.cache;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * <h2>처리율 제한 판단용 Lua 스크립트</h2>
+ * 조회, 판단, 갱신을 Redis 서버에서 한 번의 호출로 처리하기 위한 스크립트 목록. <br/>
+ * 스크립트 원문은 같은 패키지의 클래스패스 리소스에서 읽고, EVALSHA 에 사용할 SHA1 digest 는 로딩 시점에 한 번만 계산한다.
+ */
+@Getter
+public enum RedisScript {
+
+    TOKEN_BUCKET("token_bucket.lua"),
+    SLIDING_WINDOW_LOG("sliding_window_log.lua"),
+    SLIDING_WINDOW_COUNTER("sliding_window_counter.lua"),
+    FIXED_WINDOW_COUNTER("fixed_window_counter.lua"),
+    GCRA("gcra.lua"),
+    HASH_SAVE("hash_save.lua");
+
+    private final String source;
+    private final String sha;
+
+    RedisScript(String fileName) {
+        this.source = load(fileName);
+        this.sha = digest(this.source);
+    }
+
+    private static String load(String fileName) {
+        try (InputStream inputStream = RedisScript.class.getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Lua 스크립트를 찾을 수 없습니다. : " + fileName);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String digest(String source) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(messageDigest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
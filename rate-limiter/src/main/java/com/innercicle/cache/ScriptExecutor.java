@@ -0,0 +1,25 @@
+package com.innercicle.cache;
+
+import java.util.List;
+
+/**
+ * <h2>Lua 스크립트 실행기</h2>
+ * {@link BucketRedisTemplate} 가 처리율 판단 스크립트를 Redis 로 보내는 방식. <br/>
+ * EVALSHA 로 실행하고, 서버에 스크립트가 캐싱되어 있지 않은 경우(NOSCRIPT)에만 EVAL 로 원문을 전송한다.
+ *
+ * @see SyncScriptExecutor
+ * @see PipelinedScriptExecutor
+ */
+public interface ScriptExecutor {
+
+    /**
+     * <h2>Lua 스크립트 실행</h2>
+     *
+     * @param script 실행할 스크립트
+     * @param keys   KEYS
+     * @param args   ARGV
+     * @return 스크립트 응답
+     */
+    List<Long> eval(RedisScript script, String[] keys, String... args);
+
+}
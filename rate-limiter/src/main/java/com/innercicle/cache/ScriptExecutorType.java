@@ -0,0 +1,18 @@
+package com.innercicle.cache;
+
+/**
+ * <h2>Lua 스크립트 실행 방식</h2>
+ */
+public enum ScriptExecutorType {
+
+    /**
+     * 요청 스레드가 명령마다 응답을 기다린다.
+     */
+    SYNC,
+
+    /**
+     * 동시 요청의 명령을 모아서 한 번에 전송한다.
+     */
+    PIPELINED
+
+}
@@ -0,0 +1,20 @@
+package com.innercicle.cache;
+
+/**
+ * <h2>토큰 정보 저장 형식</h2>
+ * {@link CacheTemplate#getOrDefault(String, Class)}, {@link CacheTemplate#save(String, com.innercicle.domain.AbstractTokenInfo)} 로
+ * Redis 에 저장하는 값의 형식. 기본 알고리즘은 Lua 스크립트로 직접 갱신하므로 영향을 받지 않는다.
+ */
+public enum StateLayout {
+
+    /**
+     * 토큰 정보 전체를 {@link TokenInfoCodec} 바이너리 값 하나로 저장, 저장할 때마다 값 전체를 덮어쓴다.
+     */
+    BLOB,
+
+    /**
+     * 필드마다 Redis 해시 필드로 저장, 저장된 값과 다른 필드만 서버에서 기록한다.
+     */
+    HASH
+
+}
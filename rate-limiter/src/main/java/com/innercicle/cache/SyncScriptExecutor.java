@@ -0,0 +1,53 @@
+package com.innercicle.cache;
+
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * <h2>동기 스크립트 실행기</h2>
+ * 첫 번째 키로 고른 커넥션의 sync 명령으로 실행한다. 요청 스레드는 명령마다 왕복 시간만큼 대기한다. <br/>
+ * 전용 커넥션으로 만든 경우에만 종료 시 커넥션을 닫는다.
+ */
+@Slf4j
+public class SyncScriptExecutor implements ScriptExecutor, AutoCloseable {
+
+    private final ConnectionShards<String> connections;
+    private final boolean dedicated;
+
+    public SyncScriptExecutor(StatefulRedisConnection<String, String> connection) {
+        this(ConnectionShards.of(connection), false);
+    }
+
+    /**
+     * @param connections 커넥션 묶음
+     * @param dedicated   스크립트 전용 커넥션 여부, true 면 종료 시 함께 닫는다.
+     */
+    public SyncScriptExecutor(ConnectionShards<String> connections, boolean dedicated) {
+        this.connections = connections;
+        this.dedicated = dedicated;
+    }
+
+    @Override
+    public List<Long> eval(RedisScript script, String[] keys, String... args) {
+        RedisClusterCommands<String, String> commands = connections.sync(keys[0]);
+        try {
+            return commands.evalsha(script.getSha(), ScriptOutputType.MULTI, keys, args);
+        } catch (RedisNoScriptException e) {
+            log.debug("스크립트 캐시 없음, EVAL 로 재시도 : {}", script);
+            return commands.eval(script.getSource(), ScriptOutputType.MULTI, keys, args);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (dedicated) {
+            connections.close();
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.innercicle.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innercicle.domain.*;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.ToByteBufEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * <h2>토큰 정보 바이너리 코덱</h2>
+ * 필드 이름과 타입 이름을 함께 쓰던 JSON 대신, 타입별로 고정된 little-endian 배열로 저장한다. <br/>
+ * - 형식 : [버전 1 byte][타입 1 byte][필드...], 필드 순서는 각 토큰 정보의 writeTo 순서를 따른다. <br/>
+ * - 인코딩은 필요한 크기만큼만 할당한 버퍼에 바로 기록하며, 중간 문자열이나 ObjectMapper 를 거치지 않는다. <br/>
+ * - 이전 버전이 저장한 JSON 값('{' 로 시작)도 읽을 수 있으며, 다음 저장 시점에 바이너리로 바뀐다. <br/>
+ * - {@link ToByteBufEncoder} 를 구현하므로 Lettuce 는 명령을 보낼 때 키와 값을 전송 버퍼에 바로 기록한다.
+ * 명령마다 키 바이트 배열과 ByteBuffer 를 따로 만들지 않으며, ASCII 키는 문자 단위로 복사된다.
+ */
+public final class TokenInfoCodec implements RedisCodec<String, AbstractTokenInfo>, ToByteBufEncoder<String, AbstractTokenInfo> {
+
+    static final byte VERSION = 1;
+    private static final byte JSON_START = '{';
+
+    /**
+     * JSON 에서 옮겨 오는 값을 읽을 때만 사용, 설정 후에는 변경하지 않으므로 공유해도 안전하다.
+     */
+    private static final ObjectMapper LEGACY_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public String decodeKey(ByteBuffer bytes) {
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    @Override
+    public ByteBuffer encodeKey(String key) {
+        return ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void encodeKey(String key, ByteBuf target) {
+        ByteBufUtil.writeUtf8(target, key);
+    }
+
+    @Override
+    public AbstractTokenInfo decodeValue(ByteBuffer bytes) {
+        if (!bytes.hasRemaining()) {
+            return null;
+        }
+        byte first = bytes.get(bytes.position());
+        if (first == JSON_START) {
+            return decodeLegacyJson(bytes);
+        }
+        if (first != VERSION) {
+            throw new IllegalStateException("지원하지 않는 토큰 정보 형식입니다. : version=" + first);
+        }
+        ByteBuffer buffer = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.get();
+        AbstractTokenInfo tokenInfo = StateType.of(buffer.get()).newInstance();
+        tokenInfo.readFrom(new BinaryReader(buffer));
+        return tokenInfo;
+    }
+
+    @Override
+    public ByteBuffer encodeValue(AbstractTokenInfo value) {
+        StateType stateType = StateType.of(value);
+        ByteBuffer buffer = ByteBuffer.allocate(2 + value.binarySize()).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(VERSION).put(stateType.tag);
+        value.writeTo(new BinaryWriter(buffer));
+        return buffer.flip();
+    }
+
+    @Override
+    public void encodeValue(AbstractTokenInfo value, ByteBuf target) {
+        StateType stateType = StateType.of(value);
+        target.writeByte(VERSION).writeByte(stateType.tag);
+        value.writeTo(new ByteBufWriter(target));
+    }
+
+    /**
+     * 키는 UTF-8 최대 길이, 값은 정확한 길이로 전송 버퍼를 미리 확보한다.
+     */
+    @Override
+    public int estimateSize(Object keyOrValue) {
+        if (keyOrValue instanceof String key) {
+            return ByteBufUtil.utf8MaxBytes(key);
+        }
+        if (keyOrValue instanceof AbstractTokenInfo value) {
+            return 2 + value.binarySize();
+        }
+        return 0;
+    }
+
+    private AbstractTokenInfo decodeLegacyJson(ByteBuffer bytes) {
+        try {
+            if (bytes.hasArray()) {
+                return LEGACY_MAPPER.readValue(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), AbstractTokenInfo.class);
+            }
+            byte[] json = new byte[bytes.remaining()];
+            bytes.duplicate().get(json);
+            return LEGACY_MAPPER.readValue(json, AbstractTokenInfo.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 필드 이름은 사용하지 않고 호출 순서대로 기록한다.
+     */
+    private record BinaryWriter(ByteBuffer buffer) implements TokenInfoWriter {
+
+        @Override
+        public TokenInfoWriter putInt(String name, int value) {
+            buffer.putInt(value);
+            return this;
+        }
+
+        @Override
+        public TokenInfoWriter putLong(String name, long value) {
+            buffer.putLong(value);
+            return this;
+        }
+
+    }
+
+    /**
+     * 전송 버퍼에 {@link BinaryWriter} 와 같은 little-endian 순서로 기록한다.
+     */
+    private record ByteBufWriter(ByteBuf buffer) implements TokenInfoWriter {
+
+        @Override
+        public TokenInfoWriter putInt(String name, int value) {
+            buffer.writeIntLE(value);
+            return this;
+        }
+
+        @Override
+        public TokenInfoWriter putLong(String name, long value) {
+            buffer.writeLongLE(value);
+            return this;
+        }
+
+    }
+
+    private record BinaryReader(ByteBuffer buffer) implements TokenInfoReader {
+
+        @Override
+        public int getInt(String name) {
+            return buffer.getInt();
+        }
+
+        @Override
+        public long getLong(String name) {
+            return buffer.getLong();
+        }
+
+    }
+
+    /**
+     * <h2>저장 타입</h2>
+     * tag 는 저장된 값과 호환되어야 하므로 한 번 정한 값은 바꾸지 않는다. <br/>
+     * GCRA 처럼 스크립트가 직접 상태를 관리하는 알고리즘의 판단 결과는 저장하지 않으므로 여기에 추가하지 않는다.
+     */
+    enum StateType {
+
+        TOKEN_BUCKET((byte)1, TokenBucketInfo.class, TokenBucketInfo::new),
+        FIXED_WINDOW_COUNT((byte)2, FixedWindowCountInfo.class, FixedWindowCountInfo::new),
+        SLIDING_WINDOW_LOGGING((byte)3, SlidingWindowLoggingInfo.class, SlidingWindowLoggingInfo::new),
+        SLIDING_WINDOW_COUNTER((byte)4, SlidingWindowCounterInfo.class, SlidingWindowCounterInfo::new);
+
+        private final byte tag;
+        private final Class<? extends AbstractTokenInfo> type;
+        private final Supplier<AbstractTokenInfo> factory;
+
+        StateType(byte tag, Class<? extends AbstractTokenInfo> type, Supplier<AbstractTokenInfo> factory) {
+            this.tag = tag;
+            this.type = type;
+            this.factory = factory;
+        }
+
+        AbstractTokenInfo newInstance() {
+            return factory.get();
+        }
+
+        static StateType of(byte tag) {
+            for (StateType stateType : values()) {
+                if (stateType.tag == tag) {
+                    return stateType;
+                }
+            }
+            throw new IllegalStateException("알 수 없는 토큰 정보 타입입니다. : tag=" + tag);
+        }
+
+        /**
+         * 누출 버킷처럼 메모리 안에서만 사용하는 타입, GCRA 처럼 판단 결과만 담는 타입은 저장할 수 없다.
+         */
+        static StateType of(AbstractTokenInfo value) {
+            for (StateType stateType : values()) {
+                if (stateType.type == value.getClass()) {
+                    return stateType;
+                }
+            }
+            throw new IllegalArgumentException("저장할 수 없는 토큰 정보 타입입니다. : " + value.getClass().getName());
+        }
+
+    }
+
+}
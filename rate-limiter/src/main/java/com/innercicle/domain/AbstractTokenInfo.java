@@ -41,4 +41,38 @@ public class AbstractTokenInfo {
         return (int)(System.currentTimeMillis() - this.lastRefillTimestamp) / this.rate;
     }
 
+    /**
+     * <h2>바이너리 저장 형식 크기(byte)</h2>
+     * 하위 클래스는 자신의 필드 크기를 더한다.
+     */
+    public int binarySize() {
+        return Integer.BYTES * 3 + Long.BYTES;
+    }
+
+    /**
+     * <h2>저장 필드 기록</h2>
+     * 바이너리 형식은 필드 순서가 곧 저장 형식이므로, 순서를 바꾸면 {@link com.innercicle.cache.TokenInfoCodec} 의 버전을 올려야 한다. <br/>
+     * 해시 형식은 필드 이름을 해시 필드로 사용한다.
+     *
+     * @param writer 저장 형식별 기록기
+     */
+    public void writeTo(TokenInfoWriter writer) {
+        writer.putInt("capacity", this.capacity)
+            .putLong("lastRefillTimestamp", this.lastRefillTimestamp)
+            .putInt("currentTokens", this.currentTokens)
+            .putInt("rate", this.rate);
+    }
+
+    /**
+     * <h2>저장 필드 복원</h2>
+     *
+     * @param reader 저장 형식별 판독기
+     */
+    public void readFrom(TokenInfoReader reader) {
+        this.capacity = reader.getInt("capacity");
+        this.lastRefillTimestamp = reader.getLong("lastRefillTimestamp");
+        this.currentTokens = reader.getInt("currentTokens");
+        this.rate = reader.getInt("rate");
+    }
+
 }
@@ -15,4 +15,18 @@ public class BucketProperties {
     private SlidingWindowLogging slidingWindowLogging;
     private SlidingWindowCounter slidingWindowCounter;
 
+    /**
+     * <h2>저장한 토큰 정보 보관 시간(ms)</h2>
+     * 상태가 의미를 갖는 가장 긴 시간으로, rate-unit, 고정 윈도우 크기, 빈 버킷이 가득 찰 때까지의 시간(rate-unit 마다 토큰 1개) 중 최댓값이다.
+     * 이 시간이 지나면 저장된 값은 기본값과 같아지므로 만료시켜도 판단이 바뀌지 않는다.
+     */
+    public long stateTtlMillis() {
+        long unit = rateUnit.toMillis();
+        long ttl = Math.max(unit, (long)Math.max(capacity, 1) * unit);
+        if (fixedWindowCounter != null) {
+            ttl = Math.max(ttl, (long)fixedWindowCounter.getWindowSize() * unit);
+        }
+        return ttl;
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.innercicle.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,12 +16,31 @@ public class FixedWindowCountInfo extends AbstractTokenInfo {
     @Setter
     private int currentCount;
 
+    /**
+     * 현재 윈도우가 끝날 때까지 대기 시간(ms)
+     */
+    @JsonIgnore
+    private long retryAfterMillis;
+
     public FixedWindowCountInfo(BucketProperties bucketProperties) {
         this.windowSize = bucketProperties.getFixedWindowCounter().getWindowSize();
         this.requestLimit = bucketProperties.getFixedWindowCounter().getRequestLimit();
         this.currentCount = 0;
     }
 
+    /**
+     * <h2>원자적 증가 결과로 생성</h2>
+     *
+     * @param bucketProperties 버킷 설정
+     * @param remaining        현재 윈도우에서 남은 요청 수
+     * @param retryAfterMillis 대기 시간(ms)
+     */
+    public FixedWindowCountInfo(BucketProperties bucketProperties, long remaining, long retryAfterMillis) {
+        this(bucketProperties);
+        this.currentCount = (int)(this.requestLimit - remaining);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
     @Override
     public int getRemaining() {
         return this.requestLimit - this.currentCount;
@@ -31,9 +51,12 @@ public class FixedWindowCountInfo extends AbstractTokenInfo {
         return this.requestLimit;
     }
 
+    /**
+     * 다음 윈도우까지 대기 시간(초), 1초 미만은 올림
+     */
     @Override
     public int getRetryAfter() {
-        return this.windowSize;
+        return (int)((this.retryAfterMillis + 999) / 1000);
     }
 
     public boolean isAvailable() {
@@ -48,4 +71,25 @@ public class FixedWindowCountInfo extends AbstractTokenInfo {
         this.currentCount++;
     }
 
+    @Override
+    public int binarySize() {
+        return super.binarySize() + Integer.BYTES * 3;
+    }
+
+    @Override
+    public void writeTo(TokenInfoWriter writer) {
+        super.writeTo(writer);
+        writer.putInt("windowSize", this.windowSize)
+            .putInt("requestLimit", this.requestLimit)
+            .putInt("currentCount", this.currentCount);
+    }
+
+    @Override
+    public void readFrom(TokenInfoReader reader) {
+        super.readFrom(reader);
+        this.windowSize = reader.getInt("windowSize");
+        this.requestLimit = reader.getInt("requestLimit");
+        this.currentCount = reader.getInt("currentCount");
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.innercicle.domain;
+
+import lombok.Getter;
+
+/**
+ * <h2>GCRA 판단 결과</h2>
+ * 저장소에는 스크립트가 이론적 도착 시각(TAT)만 저장하므로, 응답 헤더에 필요한 값만 담는다. <br/>
+ * 저장하지 않는 값이므로 바이너리, JSON 저장 타입에 등록하지 않는다.
+ */
+@Getter
+public class GcraInfo extends AbstractTokenInfo {
+
+    /**
+     * 지금 바로 허용 가능한 요청 수
+     */
+    private final long remainingRequests;
+
+    /**
+     * 다음 요청이 허용될 때까지 대기 시간(ms)
+     */
+    private final long retryAfterMillis;
+
+    public GcraInfo(BucketProperties bucketProperties, long remainingRequests, long retryAfterMillis) {
+        super(bucketProperties);
+        this.remainingRequests = remainingRequests;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public int getRemaining() {
+        return (int)this.remainingRequests;
+    }
+
+    /**
+     * 다음 요청까지 대기 시간(초), 1초 미만은 올림
+     */
+    @Override
+    public int getRetryAfter() {
+        return (int)((this.retryAfterMillis + 999) / 1000);
+    }
+
+}
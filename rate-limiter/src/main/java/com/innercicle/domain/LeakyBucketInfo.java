@@ -15,8 +15,12 @@ public class LeakyBucketInfo extends AbstractTokenInfo {
      */
 
     public LeakyBucketInfo(BucketProperties properties) {
+        this(properties, new ArrayDeque<>(properties.getCapacity()));
+    }
+
+    public LeakyBucketInfo(BucketProperties properties, Deque<LeakyBucketInfo> deque) {
         super(properties);
-        this.deque = new ArrayDeque<>(properties.getCapacity());
+        this.deque = deque;
     }
 
     /**
@@ -0,0 +1,83 @@
+package com.innercicle.domain;
+
+import com.innercicle.advice.exceptions.RateLimitException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>처리율 판단 결과</h2>
+ * 허용 여부를 예외 없이 전달하는 불변 객체. <br/>
+ * - allowed : 허용 여부 <br/>
+ * - remaining : 남은 요청 수 <br/>
+ * - limit : 요청 제한 수 <br/>
+ * - retryAfterNanos : 다음 요청이 허용될 때까지 대기 시간(ns), 허용된 경우 0 <br/>
+ * - resetAt : 할당량이 다시 채워지는 시각(epoch ms)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RateLimitDecision {
+
+    private static final String REJECT_MESSAGE = "You have reached the limit";
+
+    private final boolean allowed;
+    private final long remaining;
+    private final long limit;
+    private final long retryAfterNanos;
+    private final long resetAt;
+
+    public static RateLimitDecision allowed(long remaining, long limit, long resetAt) {
+        return new RateLimitDecision(true, Math.max(remaining, 0), limit, 0, resetAt);
+    }
+
+    public static RateLimitDecision rejected(long remaining, long limit, long retryAfterNanos, long resetAt) {
+        return new RateLimitDecision(false, Math.max(remaining, 0), limit, Math.max(retryAfterNanos, 0), resetAt);
+    }
+
+    /**
+     * 기존 {@link AbstractTokenInfo} 기반 핸들러의 허용 결과 변환
+     */
+    public static RateLimitDecision from(AbstractTokenInfo tokenInfo) {
+        long retryAfterMillis = TimeUnit.SECONDS.toMillis(tokenInfo.getRetryAfter());
+        return allowed(tokenInfo.getRemaining(), tokenInfo.getLimit(), System.currentTimeMillis() + retryAfterMillis);
+    }
+
+    /**
+     * 기존 {@link RateLimitException} 기반 핸들러의 거절 결과 변환
+     */
+    public static RateLimitDecision from(RateLimitException exception) {
+        long retryAfterMillis = TimeUnit.SECONDS.toMillis(exception.getRetryAfter());
+        return rejected(exception.getRemaining(),
+                        exception.getLimit(),
+                        TimeUnit.MILLISECONDS.toNanos(retryAfterMillis),
+                        System.currentTimeMillis() + retryAfterMillis);
+    }
+
+    public boolean isRejected() {
+        return !allowed;
+    }
+
+    /**
+     * 초 단위 대기 시간, 올림
+     */
+    public int getRetryAfterSeconds() {
+        return (int)((retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public long getRetryAfterMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(retryAfterNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    /**
+     * <h2>예외 변환</h2>
+     * 예외로 거절을 전달해야 하는 호출자(AOP 등)에서 사용한다.
+     */
+    public RateLimitException toException() {
+        return new RateLimitException(REJECT_MESSAGE, (int)Math.min(remaining, Integer.MAX_VALUE), (int)limit, getRetryAfterSeconds());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.innercicle.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -29,12 +30,50 @@ public class SlidingWindowCounterInfo extends AbstractTokenInfo {
 
     private long betweenRateCount;
 
+    /**
+     * 다음 요청이 허용될 때까지 대기 시간(ms)
+     */
+    @JsonIgnore
+    private long retryAfterMillis;
+
     public SlidingWindowCounterInfo(BucketProperties bucketProperties) {
         super(bucketProperties);
         this.requestLimit = bucketProperties.getSlidingWindowLogging().getRequestLimit();
         this.currentCount = 0;
     }
 
+    /**
+     * <h2>원자적 증가 결과로 생성</h2>
+     *
+     * @param bucketProperties 버킷 설정
+     * @param remaining        추정치 기준 남은 요청 수
+     * @param retryAfterMillis 대기 시간(ms)
+     */
+    public SlidingWindowCounterInfo(BucketProperties bucketProperties, long remaining, long retryAfterMillis) {
+        super(bucketProperties);
+        this.requestLimit = bucketProperties.getSlidingWindowCounter().getRequestLimit();
+        this.currentCount = this.requestLimit - remaining;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public int getRemaining() {
+        return (int)Math.max(this.requestLimit - this.currentCount, 0);
+    }
+
+    @Override
+    public int getLimit() {
+        return this.requestLimit;
+    }
+
+    /**
+     * 다음 요청까지 대기 시간(초), 1초 미만은 올림
+     */
+    @Override
+    public int getRetryAfter() {
+        return (int)((this.retryAfterMillis + 999) / 1000);
+    }
+
     /**
      * 현재 카운트가 요청 제한 갯수보다 크면 안된다.
      *
@@ -48,4 +87,29 @@ public class SlidingWindowCounterInfo extends AbstractTokenInfo {
         return !this.isAvailable();
     }
 
+    @Override
+    public int binarySize() {
+        return super.binarySize() + Integer.BYTES + Long.BYTES * 4;
+    }
+
+    @Override
+    public void writeTo(TokenInfoWriter writer) {
+        super.writeTo(writer);
+        writer.putInt("requestLimit", this.requestLimit)
+            .putLong("currentCount", this.currentCount)
+            .putLong("beforeFixedWindowCount", this.beforeFixedWindowCount)
+            .putLong("afterFixedWindowCount", this.afterFixedWindowCount)
+            .putLong("betweenRateCount", this.betweenRateCount);
+    }
+
+    @Override
+    public void readFrom(TokenInfoReader reader) {
+        super.readFrom(reader);
+        this.requestLimit = reader.getInt("requestLimit");
+        this.currentCount = reader.getLong("currentCount");
+        this.beforeFixedWindowCount = reader.getLong("beforeFixedWindowCount");
+        this.afterFixedWindowCount = reader.getLong("afterFixedWindowCount");
+        this.betweenRateCount = reader.getLong("betweenRateCount");
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.innercicle.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,12 +21,49 @@ public class SlidingWindowLoggingInfo extends AbstractTokenInfo {
      */
     private long currentCount;
 
+    /**
+     * 다음 요청이 허용될 때까지 대기 시간(ms)
+     */
+    @JsonIgnore
+    private long retryAfterMillis;
+
     public SlidingWindowLoggingInfo(BucketProperties bucketProperties) {
         super(bucketProperties);
         this.requestLimit = bucketProperties.getSlidingWindowLogging().getRequestLimit();
         this.currentCount = 0;
     }
 
+    /**
+     * <h2>원자적 기록 결과로 생성</h2>
+     *
+     * @param bucketProperties 버킷 설정
+     * @param remaining        윈도우 내 남은 요청 수
+     * @param retryAfterMillis 대기 시간(ms)
+     */
+    public SlidingWindowLoggingInfo(BucketProperties bucketProperties, long remaining, long retryAfterMillis) {
+        this(bucketProperties);
+        this.currentCount = this.requestLimit - remaining;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public int getRemaining() {
+        return (int)Math.max(this.requestLimit - this.currentCount, 0);
+    }
+
+    @Override
+    public int getLimit() {
+        return this.requestLimit;
+    }
+
+    /**
+     * 다음 요청까지 대기 시간(초), 1초 미만은 올림
+     */
+    @Override
+    public int getRetryAfter() {
+        return (int)((this.retryAfterMillis + 999) / 1000);
+    }
+
     /**
      * 현재 카운트가 요청 제한 갯수보다 크면 안된다.
      *
@@ -39,4 +77,22 @@ public class SlidingWindowLoggingInfo extends AbstractTokenInfo {
         return !this.isAvailable();
     }
 
+    @Override
+    public int binarySize() {
+        return super.binarySize() + Integer.BYTES + Long.BYTES;
+    }
+
+    @Override
+    public void writeTo(TokenInfoWriter writer) {
+        super.writeTo(writer);
+        writer.putInt("requestLimit", this.requestLimit).putLong("currentCount", this.currentCount);
+    }
+
+    @Override
+    public void readFrom(TokenInfoReader reader) {
+        super.readFrom(reader);
+        this.requestLimit = reader.getInt("requestLimit");
+        this.currentCount = reader.getLong("currentCount");
+    }
+
 }
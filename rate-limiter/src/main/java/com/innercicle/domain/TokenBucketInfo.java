@@ -1,5 +1,6 @@
 package com.innercicle.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,10 +14,38 @@ import java.io.Serializable;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TokenBucketInfo extends AbstractTokenInfo implements Serializable {
 
+    /**
+     * 다음 토큰이 채워질 때까지 대기 시간(ms)
+     */
+    @JsonIgnore
+    private long retryAfterMillis;
+
     public TokenBucketInfo(BucketProperties properties) {
         super(properties);
     }
 
+    /**
+     * <h2>원자적 차감 결과로 생성</h2>
+     * 캐시 저장소에서 계산된 남은 토큰 수와 대기 시간으로 응답용 토큰 정보를 만든다.
+     *
+     * @param properties       버킷 설정
+     * @param currentTokens    남은 토큰 수
+     * @param retryAfterMillis 대기 시간(ms)
+     */
+    public TokenBucketInfo(BucketProperties properties, int currentTokens, long retryAfterMillis) {
+        super(properties);
+        this.currentTokens = currentTokens;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * 다음 요청까지 대기 시간(초), 1초 미만은 올림
+     */
+    @Override
+    public int getRetryAfter() {
+        return (int)((this.retryAfterMillis + 999) / 1000);
+    }
+
     public boolean isAllowRequest() {
         return this.currentTokens > 0;
     }
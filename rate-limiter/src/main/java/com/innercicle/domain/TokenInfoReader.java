@@ -0,0 +1,13 @@
+package com.innercicle.domain;
+
+/**
+ * <h2>토큰 정보 저장 필드 판독기</h2>
+ * {@link TokenInfoWriter} 로 기록한 순서, 이름 그대로 읽는다.
+ */
+public interface TokenInfoReader {
+
+    int getInt(String name);
+
+    long getLong(String name);
+
+}
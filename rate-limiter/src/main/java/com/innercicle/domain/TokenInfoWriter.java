@@ -0,0 +1,13 @@
+package com.innercicle.domain;
+
+/**
+ * <h2>토큰 정보 저장 필드 기록기</h2>
+ * 바이너리 형식은 이름을 무시하고 순서대로 기록하고, 해시 형식은 이름을 해시 필드로 사용한다.
+ */
+public interface TokenInfoWriter {
+
+    TokenInfoWriter putInt(String name, int value);
+
+    TokenInfoWriter putLong(String name, long value);
+
+}
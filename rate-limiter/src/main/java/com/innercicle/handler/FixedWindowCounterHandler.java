@@ -1,36 +1,64 @@
 package com.innercicle.handler;
 
-import com.innercicle.advice.exceptions.RateLimitException;
 import com.innercicle.cache.CacheTemplate;
-import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.cache.ConsumeResult;
+import com.innercicle.domain.BucketProperties;
 import com.innercicle.domain.FixedWindowCountInfo;
+import com.innercicle.domain.RateLimitDecision;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고정 윈도우 카운터 핸들러
+ * 카운터 증가는 {@link CacheTemplate#consumeFixedWindowCounter(String, int)} 에서 원자적으로 수행한다.
+ */
 @RequiredArgsConstructor
 public class FixedWindowCounterHandler implements RateLimitHandler {
 
     private final CacheTemplate cacheTemplate;
+    private final BucketProperties bucketProperties;
 
     @Override
     public FixedWindowCountInfo allowRequest(String key) {
-        FixedWindowCountInfo fixedWindowCounterInfo = (FixedWindowCountInfo)cacheTemplate.getOrDefault(key, FixedWindowCountInfo.class);
-        if (fixedWindowCounterInfo.isUnavailable()) {
-            log.error("허용되지 않은 요청입니다.");
-            throw new RateLimitException("You have reached the limit",
-                                         fixedWindowCounterInfo.getRemaining(),
-                                         fixedWindowCounterInfo.getLimit(),
-                                         fixedWindowCounterInfo.getRetryAfter());
+        RateLimitDecision decision = tryAcquire(key);
+        if (decision.isRejected()) {
+            throw decision.toException();
+        }
+        return new FixedWindowCountInfo(bucketProperties, decision.getRemaining(), 0);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * 할당량이 다시 채워지는 시각 : 현재 윈도우가 끝나는 시각
+     */
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        ConsumeResult result = cacheTemplate.consumeFixedWindowCounter(key, permits);
+        long limit = bucketProperties.getFixedWindowCounter().getRequestLimit();
+        long window = (long)bucketProperties.getFixedWindowCounter().getWindowSize() * bucketProperties.getRateUnit().toMillis();
+        long resetAt = (System.currentTimeMillis() / window + 1) * window;
+        if (!result.isAllowed()) {
+            return RateLimitDecision.rejected(result.getRemaining(),
+                                              limit,
+                                              TimeUnit.MILLISECONDS.toNanos(result.getRetryAfterMillis()),
+                                              resetAt);
         }
-        fixedWindowCounterInfo.plusCount();
+        return RateLimitDecision.allowed(result.getRemaining(), limit, resetAt);
+    }
 
-        return fixedWindowCounterInfo;
+    @Override
+    public boolean isAtomic() {
+        return true;
     }
 
     @Override
-    public void endRequest(String cacheKey, AbstractTokenInfo tokenBucketInfo) {
-        cacheTemplate.save(cacheKey, tokenBucketInfo);
+    public boolean supportsPermits() {
+        return true;
     }
 
 }
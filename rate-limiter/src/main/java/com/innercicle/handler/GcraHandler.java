@@ -0,0 +1,65 @@
+package com.innercicle.handler;
+
+import com.innercicle.cache.CacheTemplate;
+import com.innercicle.cache.ConsumeResult;
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.GcraInfo;
+import com.innercicle.domain.RateLimitDecision;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>GCRA(Generic Cell Rate Algorithm) 핸들러</h2>
+ * 토큰 버킷과 같은 결과를 내지만, 키당 이론적 도착 시각(TAT) 하나만 저장한다. <br/>
+ * 판단과 갱신은 {@link CacheTemplate#consumeGcra(String, int)} 에서 원자적으로 수행한다.
+ */
+@RequiredArgsConstructor
+public class GcraHandler implements RateLimitHandler {
+
+    private final CacheTemplate cacheTemplate;
+    private final BucketProperties bucketProperties;
+
+    @Override
+    public GcraInfo allowRequest(String key) {
+        RateLimitDecision decision = tryAcquire(key);
+        if (decision.isRejected()) {
+            throw decision.toException();
+        }
+        return new GcraInfo(bucketProperties, decision.getRemaining(), 0);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * 할당량이 다시 채워지는 시각 : 부족한 요청 수 * 요청 간격
+     */
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        ConsumeResult result = cacheTemplate.consumeGcra(key, permits);
+        long limit = Math.max(bucketProperties.getCapacity(), 1);
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(bucketProperties.getRateUnit().toMillis()) / Math.max(bucketProperties.getRate(), 1);
+        long resetAt = System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis((limit - result.getRemaining()) * intervalNanos);
+        if (!result.isAllowed()) {
+            return RateLimitDecision.rejected(result.getRemaining(),
+                                              limit,
+                                              TimeUnit.MILLISECONDS.toNanos(result.getRetryAfterMillis()),
+                                              resetAt);
+        }
+        return RateLimitDecision.allowed(result.getRemaining(), limit, resetAt);
+    }
+
+    @Override
+    public boolean isAtomic() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsPermits() {
+        return true;
+    }
+
+}
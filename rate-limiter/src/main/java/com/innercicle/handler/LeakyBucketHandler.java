@@ -1,38 +1,40 @@
 package com.innercicle.handler;
 
-import com.innercicle.advice.exceptions.RateLimitException;
-import com.innercicle.cache.CacheTemplate;
 import com.innercicle.domain.AbstractTokenInfo;
 import com.innercicle.domain.BucketProperties;
 import com.innercicle.domain.LeakyBucketInfo;
+import com.innercicle.domain.RateLimitDecision;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
 
 import java.util.Deque;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <h2>누출 버킷 알고리즘을 사용하여 요청을 제한하는 핸들러</h2>
  * 해당 알고리즘은 단순 버킷 알고리즘과 다르게, 토큰을 한 번에 모두 채우지 않고, 주기적으로 누출하는 방식으로 동작. <br/>
  * 이를 통해, 토큰을 한 번에 모두 채우지 않고, 주기적으로 누출하는 방식으로 동작.<br/>
  * 따라서 키 값으로 동작하지 않고, 키와 관계 없이 요청이 들어오면 큐에 담아 두고 순서대로 처리.<br/>
+ * 남은 용량 확인과 추가, 주기적인 누출은 핸들러 내부의 Lock 하나로 보호하므로, 여러 개를 요청해도 한꺼번에 추가되거나 아무것도 추가되지 않으며
+ * 외부 Lock 이 필요 없다.
  */
-@RequiredArgsConstructor
 public class LeakyBucketHandler implements RateLimitHandler {
 
-    private final CacheTemplate cacheTemplate;
+    private final LeakyBucketInfo bucketInfo;
     private final Deque<LeakyBucketInfo> deque;
     private final int leakRate;                         // 누출 속도
     private final ScheduledExecutorService scheduler;   // 주기적으로 누출을 수행하는 스케줄러
     private final TimeUnit timeUnit;
+    private final ReentrantLock lock = new ReentrantLock();
 
     // Leaky Bucket 생성자
-    public LeakyBucketHandler(CacheTemplate cacheTemplate, BucketProperties bucketProperties) {
-        this.cacheTemplate = cacheTemplate;
-        LeakyBucketInfo leakyBucketInfo = (LeakyBucketInfo)cacheTemplate.getOrDefault("deque", LeakyBucketInfo.class);
-        this.deque = leakyBucketInfo.getDeque();
+    public LeakyBucketHandler(BucketProperties bucketProperties) {
+        this.bucketInfo = new LeakyBucketInfo(bucketProperties,
+                                              new LinkedBlockingDeque<>(Math.max(bucketProperties.getCapacity(), 1)));
+        this.deque = bucketInfo.getDeque();
         this.scheduler = Executors.newScheduledThreadPool(1);
         this.leakRate = bucketProperties.getRate();
         this.timeUnit = bucketProperties.getRateUnit().toTimeUnit();
@@ -41,25 +43,51 @@ public class LeakyBucketHandler implements RateLimitHandler {
 
     @Override
     public AbstractTokenInfo allowRequest(String key) {
-        LeakyBucketInfo bucketInfo = (LeakyBucketInfo)cacheTemplate.getOrDefault("deque", LeakyBucketInfo.class);
-        if (deque.size() < bucketInfo.getCapacity()) {
-            deque.add(bucketInfo);
-            if (scheduler.isShutdown()) {   // 스케줄러가 종료되었을 경우 재시작
+        RateLimitDecision decision = tryAcquire(key);
+        if (decision.isRejected()) {
+            throw decision.toException();
+        }
+        return bucketInfo;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * 할당량이 다시 채워지는 시각 : 다음 누출 주기, 정확한 누출 시각은 추적하지 않으므로 최대값을 사용 <br/>
+     * 여러 개를 요청하면 남은 용량을 확인한 뒤 같은 Lock 구간 안에서 한꺼번에 추가하므로, 누출이나 다른 요청이 끼어들지 않는다.
+     */
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        long leakIntervalNanos = timeUnit.toNanos(leakRate);
+        long resetAt = System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(leakIntervalNanos);
+        lock.lock();
+        try {
+            if (deque.size() + permits > bucketInfo.getCapacity()) {
+                return RateLimitDecision.rejected(bucketInfo.getRemaining(), bucketInfo.getCapacity(), leakIntervalNanos, resetAt);
+            }
+            for (int i = 0; i < permits; i++) {
+                deque.offer(bucketInfo);
+            }
+            if (permits > 0 && scheduler.isShutdown()) {   // 스케줄러가 종료되었을 경우 재시작
                 startLeakTask();
             }
-            return bucketInfo;
+            return RateLimitDecision.allowed(bucketInfo.getRemaining(), bucketInfo.getCapacity(), resetAt);
+        } finally {
+            lock.unlock();
         }
-        throw new RateLimitException("You have reached the limit",
-                                     bucketInfo.getRemaining(),
-                                     bucketInfo.getLimit(),
-                                     bucketInfo.getRetryAfter());
     }
 
     @Override
-    public void endRequest(String cacheKey, AbstractTokenInfo tokenBucketInfo) {
-        if (!this.deque.isEmpty()) {
-            this.deque.removeLast();
-        }
+    public boolean isAtomic() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsPermits() {
+        return true;
     }
 
     /**
@@ -67,13 +95,16 @@ public class LeakyBucketHandler implements RateLimitHandler {
      * 큐에 있는 모든 요소를 누출 속도에 맞게 제거.
      */
     private void startLeakTask() {
-        this.scheduler.scheduleAtFixedRate(() -> {
-            synchronized (LeakyBucketHandler.this) {
-                while (!this.deque.isEmpty()) {
-                    this.deque.poll();
-                }
-            }
-        }, 0, this.leakRate, this.timeUnit);
+        this.scheduler.scheduleAtFixedRate(this::leak, 0, this.leakRate, this.timeUnit);
+    }
+
+    private void leak() {
+        lock.lock();
+        try {
+            this.deque.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @PreDestroy
@@ -1,12 +1,82 @@
 package com.innercicle.handler;
 
+import com.innercicle.advice.exceptions.RateLimitException;
 import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.domain.RateLimitDecision;
 
 public interface RateLimitHandler {
 
+    /**
+     * <h2>요청 허용 여부 판단</h2>
+     * 허용되지 않은 경우 {@link com.innercicle.advice.exceptions.RateLimitException} 을 던진다.
+     *
+     * @param key 캐시 키
+     * @return 토큰 정보
+     */
     AbstractTokenInfo allowRequest(String key);
 
+    /**
+     * <h2>요청 허용 여부 판단 (예외 없음)</h2>
+     * 거절도 {@link RateLimitDecision} 으로 반환하므로, 호출자는 예외 없이 분기할 수 있다. <br/>
+     * 기본 구현은 {@link #allowRequest(String)} 를 감싸며, 기본 제공 핸들러는 예외를 만들지 않도록 직접 구현한다.
+     *
+     * @param key 캐시 키
+     * @return 판단 결과
+     */
+    default RateLimitDecision tryAcquire(String key) {
+        try {
+            return RateLimitDecision.from(allowRequest(key));
+        } catch (RateLimitException e) {
+            return RateLimitDecision.from(e);
+        }
+    }
+
+    /**
+     * <h2>여러 개의 할당량을 한 번에 요청</h2>
+     * 할당량이 모두 남아 있을 때만 한꺼번에 차감하고, 부족하면 아무것도 차감하지 않는다. <br/>
+     * permits 가 0 이면 차감 없이 남은 할당량만 조회한다. <br/>
+     * 기본 구현은 1개 요청만 지원하며, 기본 제공 핸들러는 모두 직접 구현하고 {@link #supportsPermits()} 가 true 이다.
+     *
+     * @param key     캐시 키
+     * @param permits 요청할 할당량 수
+     * @return 판단 결과
+     */
+    default RateLimitDecision tryAcquire(String key, int permits) {
+        if (permits != 1) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " 는 여러 개의 할당량 요청을 지원하지 않습니다.");
+        }
+        return tryAcquire(key);
+    }
+
+    /**
+     * <h2>할당량 수 지정 지원 여부</h2>
+     * {@link #tryAcquire(String, int)} 를 직접 구현하여 0개(조회)와 2개 이상 요청을 지원하면 true. <br/>
+     * 원자적이지 않은 핸들러는 Lock 구간 안에서 {@link #tryAcquire(String, int)} 만 호출되므로, 상태 반영도 그 안에서 해야 한다.
+     * {@link com.innercicle.limiter.RateLimiter} 는 이 값이 true 인 핸들러만 사용할 수 있다.
+     *
+     * @return 지원하면 true
+     */
+    default boolean supportsPermits() {
+        return false;
+    }
+
+    /**
+     * <h2>판단 결과 반영</h2>
+     * 원자적이지 않은 핸들러에서 {@link #allowRequest(String)} 직후, 같은 Lock 구간 안에서 호출된다. <br/>
+     * 보호 대상 메소드 실행 전에 호출되므로 요청 종료 시점의 처리에 사용하면 안 된다.
+     */
     default void endRequest(String cacheKey, AbstractTokenInfo tokenBucketInfo) {
     }
 
+    /**
+     * <h2>원자적 처리 여부</h2>
+     * 판단과 상태 갱신을 캐시 저장소에서 한 번에 수행하는 핸들러는 별도의 Lock 이 필요 없다. <br/>
+     * 원자적 핸들러는 {@link #tryAcquire(String)} 로만 호출된다.
+     *
+     * @return 원자적으로 처리하면 true
+     */
+    default boolean isAtomic() {
+        return false;
+    }
+
 }
@@ -1,46 +1,64 @@
 package com.innercicle.handler;
 
-import com.innercicle.advice.exceptions.RateLimitException;
 import com.innercicle.cache.CacheTemplate;
-import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.cache.ConsumeResult;
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.RateLimitDecision;
 import com.innercicle.domain.SlidingWindowCounterInfo;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * 이동 윈도우 카운터 핸들러
+ * 추정치 계산과 카운터 증가는 {@link CacheTemplate#consumeSlidingWindowCounter(String, int)} 에서 원자적으로 수행한다.
  */
-@Slf4j
 @RequiredArgsConstructor
 public class SlidingWindowCounterHandler implements RateLimitHandler {
 
     private final CacheTemplate cacheTemplate;
+    private final BucketProperties bucketProperties;
+
+    @Override
+    public SlidingWindowCounterInfo allowRequest(String key) {
+        RateLimitDecision decision = tryAcquire(key);
+        if (decision.isRejected()) {
+            throw decision.toException();
+        }
+        return new SlidingWindowCounterInfo(bucketProperties, decision.getRemaining(), 0);
+    }
 
     @Override
-    public AbstractTokenInfo allowRequest(String key) {
-        long currentTimeMillis = System.currentTimeMillis();
-        SlidingWindowCounterInfo slidingWindowCounterInfo =
-            (SlidingWindowCounterInfo)cacheTemplate.getSortedSetOrDefault(key, currentTimeMillis, SlidingWindowCounterInfo.class);
-        slidingWindowCounterInfo.setCurrentCount(this.cacheTemplate.getSlidingWindowCount(key, currentTimeMillis));
-        log.info("capacity :: {}, requestLimit :: {}, currentCount :: {}",
-                 slidingWindowCounterInfo.getCapacity(),
-                 slidingWindowCounterInfo.getRequestLimit(),
-                 slidingWindowCounterInfo.getCurrentCount());
-        if (slidingWindowCounterInfo.isUnavailable()) {
-            log.info("허용 범위를 넘어갔습니다.");
-            throw new RateLimitException("You have reached the limit",
-                                         slidingWindowCounterInfo.getRemaining(),
-                                         slidingWindowCounterInfo.getLimit(),
-                                         slidingWindowCounterInfo.getRetryAfter());
+    public RateLimitDecision tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * 할당량이 다시 채워지는 시각 : 현재 윈도우의 요청이 이전 윈도우 가중치에서 모두 빠지는 다음 윈도우의 끝
+     */
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        ConsumeResult result = this.cacheTemplate.consumeSlidingWindowCounter(key, permits);
+        long limit = bucketProperties.getSlidingWindowCounter().getRequestLimit();
+        long window = bucketProperties.getRateUnit().toMillis();
+        long resetAt = (System.currentTimeMillis() / window + 2) * window;
+        if (!result.isAllowed()) {
+            return RateLimitDecision.rejected(result.getRemaining(),
+                                              limit,
+                                              TimeUnit.MILLISECONDS.toNanos(result.getRetryAfterMillis()),
+                                              resetAt);
         }
+        return RateLimitDecision.allowed(result.getRemaining(), limit, resetAt);
+    }
 
-        return slidingWindowCounterInfo;
+    @Override
+    public boolean isAtomic() {
+        return true;
     }
 
     @Override
-    public void endRequest(String cacheKey, AbstractTokenInfo tokenBucketInfo) {
-        this.cacheTemplate.removeSortedSet(cacheKey, tokenBucketInfo);
-        this.cacheTemplate.saveSortedSet(cacheKey, tokenBucketInfo);
+    public boolean supportsPermits() {
+        return true;
     }
 
 }
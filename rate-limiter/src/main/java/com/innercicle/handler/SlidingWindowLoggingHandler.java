@@ -1,46 +1,63 @@
 package com.innercicle.handler;
 
-import com.innercicle.advice.exceptions.RateLimitException;
 import com.innercicle.cache.CacheTemplate;
-import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.cache.ConsumeResult;
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.RateLimitDecision;
 import com.innercicle.domain.SlidingWindowLoggingInfo;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * 이동 윈도우 로깅 핸들러
+ * 로그 정리, 판단, 기록은 {@link CacheTemplate#consumeSlidingWindowLog(String, int)} 에서 원자적으로 수행한다.
  */
-@Slf4j
 @RequiredArgsConstructor
 public class SlidingWindowLoggingHandler implements RateLimitHandler {
 
     private final CacheTemplate cacheTemplate;
+    private final BucketProperties bucketProperties;
 
     @Override
     public SlidingWindowLoggingInfo allowRequest(String key) {
-        long currentTimeMillis = System.currentTimeMillis();
-        SlidingWindowLoggingInfo slidingWindowLoggingInfo =
-            (SlidingWindowLoggingInfo)this.cacheTemplate.getSortedSetOrDefault(key, currentTimeMillis, SlidingWindowLoggingInfo.class);
-        slidingWindowLoggingInfo.setCurrentCount(this.cacheTemplate.getCurrentScore(key, currentTimeMillis));
-        log.info("capacity :: {}, requestLimit :: {}, currentCount :: {}",
-                 slidingWindowLoggingInfo.getCapacity(),
-                 slidingWindowLoggingInfo.getRequestLimit(),
-                 slidingWindowLoggingInfo.getCurrentCount());
-        if (slidingWindowLoggingInfo.isUnavailable()) {
-            log.info("허용 범위를 넘어갔습니다.");
-            throw new RateLimitException("You have reached the limit",
-                                         slidingWindowLoggingInfo.getRemaining(),
-                                         slidingWindowLoggingInfo.getLimit(),
-                                         slidingWindowLoggingInfo.getRetryAfter());
+        RateLimitDecision decision = tryAcquire(key);
+        if (decision.isRejected()) {
+            throw decision.toException();
+        }
+        return new SlidingWindowLoggingInfo(bucketProperties, decision.getRemaining(), 0);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * 할당량이 다시 채워지는 시각 : 방금 기록한 요청이 윈도우에서 빠지는 시각
+     */
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        ConsumeResult result = this.cacheTemplate.consumeSlidingWindowLog(key, permits);
+        long limit = bucketProperties.getSlidingWindowLogging().getRequestLimit();
+        long resetAt = System.currentTimeMillis() + bucketProperties.getRateUnit().toMillis();
+        if (!result.isAllowed()) {
+            return RateLimitDecision.rejected(result.getRemaining(),
+                                              limit,
+                                              TimeUnit.MILLISECONDS.toNanos(result.getRetryAfterMillis()),
+                                              resetAt);
         }
+        return RateLimitDecision.allowed(result.getRemaining(), limit, resetAt);
+    }
 
-        return slidingWindowLoggingInfo;
+    @Override
+    public boolean isAtomic() {
+        return true;
     }
 
     @Override
-    public void endRequest(String cacheKey, AbstractTokenInfo tokenBucketInfo) {
-        this.cacheTemplate.removeSortedSet(cacheKey, tokenBucketInfo);
-        this.cacheTemplate.saveSortedSet(cacheKey, tokenBucketInfo);
+    public boolean supportsPermits() {
+        return true;
     }
 
 }
@@ -1,58 +1,63 @@
 package com.innercicle.handler;
 
-import com.innercicle.advice.exceptions.RateLimitException;
 import com.innercicle.cache.CacheTemplate;
-import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.cache.ConsumeResult;
 import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.RateLimitDecision;
 import com.innercicle.domain.TokenBucketInfo;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * 토큰 버킷 처리용 핸들러
+ * 리필, 판단, 차감은 {@link CacheTemplate#consumeTokenBucket(String, int)} 에서 원자적으로 수행한다.
  */
 @RequiredArgsConstructor
 public class TokenBucketHandler implements RateLimitHandler {
 
-    private static final Logger log = LoggerFactory.getLogger(TokenBucketHandler.class);
     private final CacheTemplate cacheTemplate;
     private final BucketProperties properties;
 
     @Override
     public TokenBucketInfo allowRequest(String key) {
-
-        TokenBucketInfo tokenBucketInfo = (TokenBucketInfo)cacheTemplate.getOrDefault(key, TokenBucketInfo.class);
-        refill(key, tokenBucketInfo);
-        if (tokenBucketInfo.isRejectRequest()) {
-            log.error("허용되지 않은 요청입니다.");
-            throw new RateLimitException("You have reached the limit",
-                                         tokenBucketInfo.getRemaining(),
-                                         tokenBucketInfo.getLimit(),
-                                         tokenBucketInfo.getRetryAfter());
+        RateLimitDecision decision = tryAcquire(key);
+        if (decision.isRejected()) {
+            throw decision.toException();
         }
-        tokenBucketInfo.minusTokens();
-        return tokenBucketInfo;
+        return new TokenBucketInfo(properties, (int)decision.getRemaining(), 0);
+    }
 
+    @Override
+    public RateLimitDecision tryAcquire(String key) {
+        return tryAcquire(key, 1);
     }
 
-    private void refill(String key, TokenBucketInfo tokenBucketInfo) {
-        long now = System.currentTimeMillis();
-        long lastRefillTimestamp = tokenBucketInfo.getLastRefillTimestamp();
-        if (now > lastRefillTimestamp) {
-            long elapsedTime = now - lastRefillTimestamp;
-            int rate = properties.getRateUnit().toMillis();
-            int tokensToAdd = (int)elapsedTime / rate;
-            if (tokensToAdd > 0) {
-                tokenBucketInfo.calculateCurrentTokens(tokensToAdd);
-                cacheTemplate.save(key, tokenBucketInfo);
-            }
+    /**
+     * 버킷이 가득 차는 시각 : 부족한 토큰 수 * 토큰 1개가 채워지는 간격
+     */
+    @Override
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        ConsumeResult result = cacheTemplate.consumeTokenBucket(key, permits);
+        long limit = properties.getCapacity();
+        long resetAt = System.currentTimeMillis() + (limit - result.getRemaining()) * properties.getRateUnit().toMillis();
+        if (!result.isAllowed()) {
+            return RateLimitDecision.rejected(result.getRemaining(),
+                                              limit,
+                                              TimeUnit.MILLISECONDS.toNanos(result.getRetryAfterMillis()),
+                                              resetAt);
         }
+        return RateLimitDecision.allowed(result.getRemaining(), limit, resetAt);
+    }
+
+    @Override
+    public boolean isAtomic() {
+        return true;
     }
 
     @Override
-    public void endRequest(String key, AbstractTokenInfo tokenBucketInfo) {
-        cacheTemplate.save(key, tokenBucketInfo);
+    public boolean supportsPermits() {
+        return true;
     }
 
 }
@@ -0,0 +1,36 @@
+package com.innercicle.key;
+
+import java.lang.reflect.Method;
+
+/**
+ * <h2>메소드 인자 키 생성기</h2>
+ * 지정한 위치의 메소드 인자를 문자열로 변환하여 사용한다. 기본은 첫 번째 인자이며, 다른 위치는 위치를 지정한 빈을 등록한다.
+ */
+public class ArgumentKeyResolver implements KeyResolver {
+
+    private final int index;
+
+    public ArgumentKeyResolver() {
+        this(0);
+    }
+
+    public ArgumentKeyResolver(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("인자 위치는 0 이상이어야 합니다. : " + index);
+        }
+        this.index = index;
+    }
+
+    @Override
+    public String resolve(Object[] args) {
+        return String.valueOf(args[index]);
+    }
+
+    @Override
+    public void validate(Method method) {
+        if (index >= method.getParameterCount()) {
+            throw new IllegalStateException("인자 위치가 메소드 인자 개수를 넘었습니다. : " + index);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.innercicle.key;
+
+/**
+ * <h2>Lock Key, 캐시 키 생성기</h2>
+ * 메소드별로 한 번 만들어지며, 고정된 접두사(메소드 이름, "cache-" + 메소드 이름)를 미리 만들어 둔다. <br/>
+ * 클래스 설정을 공유하는 메소드는 메소드 이름 대신 어노테이션 이름을 접두사로 사용한다. <br/>
+ * - 요청마다 키 생성기 결과에 접두사를 한 번만 이어 붙인다. <br/>
+ * - hashThreshold 가 0 보다 크고 키 길이가 이를 넘으면, 키를 64 bit 해시(16진수 16자리)로 바꿔 Redis 키 길이와 전송량을 고정한다. <br/>
+ * - 키에 hash tag({...})가 있으면 해시로 바꿀 때도 남겨, 같은 tag 를 쓰는 키들이 Redis Cluster 에서 같은 slot 에 놓이게 한다.
+ */
+public final class CacheKeyBuilder {
+
+    public static final String CACHE_PREFIX = "cache-";
+    private static final char HASH_SEPARATOR = '#';
+    private static final int HASH_LENGTH = 16;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String lockPrefix;
+    private final String cachePrefix;
+    private final int hashThreshold;
+
+    /**
+     * @param keyPrefix     접두사
+     * @param hashThreshold 해시로 바꿀 키 길이 기준, 0 이하면 해시를 사용하지 않음
+     */
+    public CacheKeyBuilder(String keyPrefix, int hashThreshold) {
+        this.lockPrefix = keyPrefix;
+        this.cachePrefix = CACHE_PREFIX + keyPrefix;
+        this.hashThreshold = hashThreshold;
+    }
+
+    public String lockKey(String key) {
+        return build(lockPrefix, key);
+    }
+
+    public String cacheKey(String key) {
+        return build(cachePrefix, key);
+    }
+
+    private String build(String prefix, String key) {
+        if (hashThreshold <= 0 || key.length() <= hashThreshold) {
+            return prefix.concat(key);
+        }
+        // 해시 문자열을 따로 만들지 않고 결과 배열에 바로 기록, hash tag 는 Redis Cluster slot 이 바뀌지 않도록 남긴다.
+        String tag = hashTag(key);
+        int prefixLength = prefix.length();
+        int tagLength = tag == null ? 0 : tag.length();
+        char[] chars = new char[prefixLength + tagLength + 1 + HASH_LENGTH];
+        prefix.getChars(0, prefixLength, chars, 0);
+        if (tag != null) {
+            tag.getChars(0, tagLength, chars, prefixLength);
+        }
+        chars[prefixLength + tagLength] = HASH_SEPARATOR;
+        long hash = hash(key);
+        for (int i = chars.length - 1; i > prefixLength + tagLength; i--) {
+            chars[i] = HEX[(int)(hash & 0xF)];
+            hash >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * <h2>Redis Cluster hash tag 추출</h2>
+     * Redis 와 같은 규칙으로, 첫 번째 '{' 와 그 뒤 첫 번째 '}' 사이가 비어 있지 않으면 그 구간으로 slot 을 계산한다.
+     *
+     * @param key 키
+     * @return '{' 부터 '}' 까지의 구간, 없으면 null
+     */
+    public static String hashTag(String key) {
+        int start = key.indexOf('{');
+        if (start < 0) {
+            return null;
+        }
+        int end = key.indexOf('}', start + 1);
+        return end > start + 1 ? key.substring(start, end + 1) : null;
+    }
+
+    /**
+     * <h2>hash tag 가 적용된 키</h2>
+     * hash tag 가 없으면 키 전체를 감싼다. 반환한 키에 접미사를 붙여 만든 키들은 모두 같은 slot 에 놓인다.
+     *
+     * @param key 키
+     * @return hash tag 가 있는 키
+     */
+    public static String withHashTag(String key) {
+        return hashTag(key) != null ? key : '{' + key + '}';
+    }
+
+    /**
+     * FNV-1a 64 bit, 인코딩 없이 문자 단위로 계산
+     */
+    static long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.innercicle.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * <h2>클라이언트 IP 키 생성기</h2>
+ * 기본은 요청의 원격 주소를 사용한다. <br/>
+ * 프록시 뒤에서 동작하는 경우 헤더 이름(예: X-Forwarded-For)과 앞단의 신뢰할 수 있는 프록시 수를 지정한 빈을 등록한다. <br/>
+ * - 프록시는 헤더에 주소를 덧붙이므로 앞쪽 주소는 클라이언트가 임의로 보낼 수 있다. 따라서 오른쪽에서 신뢰할 수 있는 프록시 수 번째 주소를 사용한다. <br/>
+ * - 프록시가 하나이면 가장 오른쪽 주소를 사용한다. <br/>
+ * - 헤더의 주소가 프록시 수보다 적으면 신뢰할 수 있는 주소가 없으므로 원격 주소를 사용한다.
+ */
+public class ClientIpKeyResolver extends RequestKeyResolver {
+
+    private final String forwardedHeader;
+    private final int trustedProxies;
+
+    public ClientIpKeyResolver() {
+        this(null, 0);
+    }
+
+    public ClientIpKeyResolver(String forwardedHeader) {
+        this(forwardedHeader, 1);
+    }
+
+    /**
+     * @param forwardedHeader 프록시가 클라이언트 주소를 덧붙이는 헤더 이름
+     * @param trustedProxies  헤더에 주소를 덧붙이는 신뢰할 수 있는 프록시 수
+     */
+    public ClientIpKeyResolver(String forwardedHeader, int trustedProxies) {
+        super(REMOTE_ADDRESS_PREFIX);
+        if (forwardedHeader != null && trustedProxies < 1) {
+            throw new IllegalArgumentException("신뢰할 수 있는 프록시 수는 1 이상이어야 합니다. : " + trustedProxies);
+        }
+        this.forwardedHeader = forwardedHeader;
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Override
+    protected String resolve(HttpServletRequest request) {
+        if (forwardedHeader != null) {
+            String forwarded = request.getHeader(forwardedHeader);
+            if (forwarded != null && !forwarded.isBlank()) {
+                String[] addresses = forwarded.split(",");
+                if (addresses.length >= trustedProxies) {
+                    String address = addresses[addresses.length - trustedProxies].trim();
+                    if (!address.isEmpty()) {
+                        return address;
+                    }
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+}
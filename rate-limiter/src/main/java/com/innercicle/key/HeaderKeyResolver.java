@@ -0,0 +1,29 @@
+package com.innercicle.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * <h2>요청 헤더 키 생성기</h2>
+ * 기본 헤더는 X-Api-Key 이며, 다른 헤더를 사용하려면 헤더 이름을 지정한 빈을 등록한다.
+ */
+public class HeaderKeyResolver extends RequestKeyResolver {
+
+    public static final String DEFAULT_HEADER = "X-Api-Key";
+
+    private final String headerName;
+
+    public HeaderKeyResolver() {
+        this(DEFAULT_HEADER);
+    }
+
+    public HeaderKeyResolver(String headerName) {
+        super(HEADER_PREFIX);
+        this.headerName = headerName;
+    }
+
+    @Override
+    protected String resolve(HttpServletRequest request) {
+        return request.getHeader(headerName);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.innercicle.key;
+
+import java.lang.reflect.Method;
+
+/**
+ * <h2>처리율 제한 키 생성기</h2>
+ * {@code @RateLimiting(keyResolver = ...)} 로 지정하며, cacheKey SpEL 표현식 대신 일반 Java 코드로 키를 만든다. <br/>
+ * 지정한 타입의 빈이 하나 있으면 그 빈을 사용하고, 없으면 기본 생성자로 만든 인스턴스를 사용한다. <br/>
+ * 요청마다 호출되므로 스레드 안전해야 한다.
+ *
+ * @see ClientIpKeyResolver
+ * @see HeaderKeyResolver
+ * @see PrincipalKeyResolver
+ * @see ArgumentKeyResolver
+ */
+@FunctionalInterface
+public interface KeyResolver {
+
+    /**
+     * <h2>키 생성</h2>
+     *
+     * @param args 메소드 인자
+     * @return 키, 메소드 이름 뒤에 붙는다.
+     */
+    String resolve(Object[] args);
+
+    /**
+     * <h2>시작 시점 검증</h2>
+     * 대상 메소드에 사용할 수 없는 경우 {@link IllegalStateException} 을 던진다.
+     *
+     * @param method 대상 메소드
+     */
+    default void validate(Method method) {
+    }
+
+}
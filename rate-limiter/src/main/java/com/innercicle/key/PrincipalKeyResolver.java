@@ -0,0 +1,23 @@
+package com.innercicle.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+
+/**
+ * <h2>인증 사용자 키 생성기</h2>
+ * 인증된 사용자의 이름을 사용하고, 인증되지 않은 요청은 클라이언트 원격 주소로 나뉜다.
+ */
+public class PrincipalKeyResolver extends RequestKeyResolver {
+
+    public PrincipalKeyResolver() {
+        super(PRINCIPAL_PREFIX);
+    }
+
+    @Override
+    protected String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal == null ? null : principal.getName();
+    }
+
+}
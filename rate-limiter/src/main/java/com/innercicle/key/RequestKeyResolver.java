@@ -0,0 +1,49 @@
+package com.innercicle.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * <h2>현재 HTTP 요청 기반 키 생성기</h2>
+ * 키는 값의 종류별 접두사(헤더 {@value #HEADER_PREFIX}, 사용자 {@value #PRINCIPAL_PREFIX}, 주소 {@value #REMOTE_ADDRESS_PREFIX})를 붙여 만든다.
+ * 클라이언트가 보낸 헤더 값이 다른 클라이언트의 주소나 사용자 이름과 같더라도 서로의 한도를 소진하지 않는다. <br/>
+ * 키를 만들 수 없는 요청이 하나의 키로 묶여 서로의 한도를 소진하지 않도록 다음과 같이 처리한다. <br/>
+ * - 헤더가 없거나 인증되지 않은 요청처럼 키가 비어 있으면, 클라이언트 원격 주소에 {@value #REMOTE_ADDRESS_PREFIX} 를 붙인 키를 사용한다. <br/>
+ * - 웹 요청이 아닌 호출에서는 구분할 수 있는 값이 없으므로 {@link IllegalStateException} 을 던진다.
+ */
+abstract class RequestKeyResolver implements KeyResolver {
+
+    static final String HEADER_PREFIX = "hdr:";
+    static final String PRINCIPAL_PREFIX = "user:";
+    static final String REMOTE_ADDRESS_PREFIX = "ip:";
+
+    private final String prefix;
+
+    /**
+     * @param prefix {@link #resolve(HttpServletRequest)} 결과에 붙일 값 종류별 접두사
+     */
+    RequestKeyResolver(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public String resolve(Object[] args) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            throw new IllegalStateException("웹 요청이 아닌 호출에서는 " + getClass().getSimpleName() + " 로 키를 만들 수 없습니다.");
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String key = resolve(request);
+        if (key != null && !key.isBlank()) {
+            return prefix + key;
+        }
+        String remoteAddr = request.getRemoteAddr();
+        if (remoteAddr == null || remoteAddr.isBlank()) {
+            throw new IllegalStateException("요청에서 키와 원격 주소를 모두 찾을 수 없습니다.");
+        }
+        return REMOTE_ADDRESS_PREFIX + remoteAddr;
+    }
+
+    protected abstract String resolve(HttpServletRequest request);
+
+}
@@ -0,0 +1,129 @@
+package com.innercicle.limiter;
+
+import com.innercicle.advice.exceptions.LockAcquisitionFailureException;
+import com.innercicle.domain.RateLimitDecision;
+import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.key.CacheKeyBuilder;
+import com.innercicle.lock.LockHandle;
+import com.innercicle.lock.LockManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>코드에서 직접 호출하는 처리율 제한기</h2>
+ * 어노테이션을 붙일 수 없는 곳(배치, 메시지 소비, 외부 API 호출 등)에서 같은 핸들러와 캐시 저장소로 처리율을 제한한다. <br/>
+ * - 키는 호출한 쪽에서 넘긴 값에 "cache-" 접두사만 붙여 사용하므로, 어노테이션 메소드의 키와 겹치지 않도록 이름을 붙여 사용한다. <br/>
+ * - 원자적 핸들러는 Lock 없이 처리하고, 그 외 핸들러는 Lock 을 잡고 처리한다. <br/>
+ * - 할당량 수 지정({@link RateLimitHandler#supportsPermits()})을 지원하는 핸들러만 사용할 수 있으며, 생성 시점에 확인한다.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final long DEFAULT_LEASE_MILLIS = 2_000L;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final RateLimitHandler rateLimitHandler;
+    private final LockManager lockManager;
+    private final CacheKeyBuilder cacheKeyBuilder;
+
+    /**
+     * @param rateLimitHandler 처리율 제한 핸들러
+     * @param lockManager      원자적이지 않은 핸들러에서 사용할 Lock 관리자
+     * @param keyHashThreshold 해시로 바꿀 키 길이 기준, 0 이하면 해시를 사용하지 않음
+     */
+    public RateLimiter(RateLimitHandler rateLimitHandler, LockManager lockManager, int keyHashThreshold) {
+        if (!rateLimitHandler.supportsPermits()) {
+            throw new IllegalArgumentException(rateLimitHandler.getClass().getSimpleName()
+                                                   + " 는 할당량 수 지정을 지원하지 않아 RateLimiter 에서 사용할 수 없습니다."
+                                                   + " tryAcquire(key, permits) 와 supportsPermits() 를 구현해야 합니다.");
+        }
+        this.rateLimitHandler = rateLimitHandler;
+        this.lockManager = lockManager;
+        this.cacheKeyBuilder = new CacheKeyBuilder("", keyHashThreshold);
+    }
+
+    /**
+     * <h2>할당량 요청 (대기 없음)</h2>
+     * 할당량이 모두 남아 있을 때만 한꺼번에 차감하고, 거절되어도 예외를 던지지 않는다. <br/>
+     * 최대 할당량보다 많이 요청하면 항상 거절된다.
+     *
+     * @param key     키
+     * @param permits 요청할 할당량 수
+     * @return 판단 결과
+     */
+    public RateLimitDecision tryAcquire(String key, int permits) {
+        try {
+            return decide(key, permits, 0L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockAcquisitionFailureException("Lock 획득 중 인터럽트가 발생했습니다.");
+        }
+    }
+
+    /**
+     * <h2>할당량 요청 (최대 timeout 만큼 대기)</h2>
+     * 거절되면 판단 결과의 재시도 대기 시간만큼 기다렸다가 다시 요청한다. <br/>
+     * timeout 안에 허용되지 않으면 마지막 거절 결과를 반환한다. <br/>
+     * 최대 할당량보다 많이 요청하면 기다려도 허용될 수 없으므로 대기하지 않고 {@link IllegalArgumentException} 을 던진다.
+     *
+     * @param key     키
+     * @param permits 요청할 할당량 수
+     * @param timeout 최대 대기 시간
+     * @return 판단 결과
+     */
+    public RateLimitDecision acquire(String key, int permits, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remainingNanos = deadline - System.nanoTime();
+            RateLimitDecision decision = decide(key, permits, Math.max(remainingNanos, 0L));
+            if (!decision.isRejected()) {
+                return decision;
+            }
+            if (permits > decision.getLimit()) {
+                throw new IllegalArgumentException("요청한 할당량 수가 최대 할당량을 넘었습니다. : permits=" + permits + ", limit=" + decision.getLimit());
+            }
+            remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return decision;
+            }
+            // 재시도 대기 시간이 0 이어도 같은 키를 바쁘게 다시 호출하지 않도록 최소 1ms 는 기다린다.
+            long backoffNanos = Math.max(decision.getRetryAfterNanos(), MIN_BACKOFF_NANOS);
+            TimeUnit.NANOSECONDS.sleep(Math.min(backoffNanos, remainingNanos));
+        }
+    }
+
+    /**
+     * <h2>남은 할당량 조회</h2>
+     * 차감 없이 조회만 한다.
+     *
+     * @param key 키
+     * @return 남은 할당량
+     */
+    public long availablePermits(String key) {
+        return tryAcquire(key, 0).getRemaining();
+    }
+
+    private RateLimitDecision decide(String key, int permits, long lockWaitNanos) throws InterruptedException {
+        if (permits < 0) {
+            throw new IllegalArgumentException("요청할 할당량 수는 0 이상이어야 합니다. : " + permits);
+        }
+        String cacheKey = cacheKeyBuilder.cacheKey(key);
+        if (rateLimitHandler.isAtomic()) {
+            return rateLimitHandler.tryAcquire(cacheKey, permits);
+        }
+        String lockKey = cacheKeyBuilder.lockKey(key);
+        LockHandle lock = lockManager.getLock(lockKey);
+        if (!lock.tryLock(lockWaitNanos, TimeUnit.MILLISECONDS.toNanos(DEFAULT_LEASE_MILLIS), TimeUnit.NANOSECONDS)) {
+            log.error("Lock 획득 실패={}", lockKey);
+            throw new LockAcquisitionFailureException("Lock 획득 실패했습니다.");
+        }
+        try {
+            return rateLimitHandler.tryAcquire(cacheKey, permits);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
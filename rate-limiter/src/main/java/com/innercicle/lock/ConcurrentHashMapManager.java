@@ -1,17 +1,86 @@
 package com.innercicle.lock;
 
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
-public class ConcurrentHashMapManager extends LockManager {
+/**
+ * <h2>키별 Lock 관리자</h2>
+ * 키마다 {@link ReentrantLock} 을 만들고, 해당 키를 사용하는 핸들이 모두 끝나면 맵에서 제거한다. <br/>
+ * 참조 수는 맵의 compute 안에서만 변경하므로, 제거된 Lock 을 다른 스레드가 사용하는 경우는 없다. <br/>
+ * 맵의 크기는 동시에 처리 중인 키의 수로 제한된다. 키 종류와 관계 없이 고정된 메모리를 원하면 {@link StripedLockManager} 를 사용한다.
+ */
+public class ConcurrentHashMapManager implements LockManager {
 
-    private final ConcurrentHashMap<String, Lock> lockMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ReferenceCountedLock> lockMap = new ConcurrentHashMap<>();
 
     @Override
-    public void getLock(String key) {
-        this.lock = lockMap.computeIfAbsent(key, k -> new ReentrantLock());
+    public LockHandle getLock(String key) {
+        ReferenceCountedLock lock = lockMap.compute(key, (k, current) -> {
+            ReferenceCountedLock referenceCountedLock = current == null ? new ReferenceCountedLock() : current;
+            referenceCountedLock.references++;
+            return referenceCountedLock;
+        });
+        return new EvictingLockHandle(key, lock);
     }
 
-}
+    int size() {
+        return lockMap.size();
+    }
+
+    private void release(String key) {
+        lockMap.computeIfPresent(key, (k, current) -> --current.references == 0 ? null : current);
+    }
+
+    private static class ReferenceCountedLock extends ReentrantLock {
+
+        /**
+         * lockMap 의 compute 안에서만 읽고 쓴다.
+         */
+        private int references;
+
+    }
+
+    /**
+     * <h2>참조 반환 핸들</h2>
+     * Lock 획득에 실패하거나 해제한 시점에 참조를 반환한다.
+     */
+    private class EvictingLockHandle extends LocalLockHandle {
 
+        private final String key;
+        private boolean released;
+
+        private EvictingLockHandle(String key, ReferenceCountedLock lock) {
+            super(lock);
+            this.key = key;
+        }
+
+        @Override
+        public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+            boolean locked = false;
+            try {
+                locked = super.tryLock(waitTime, leaseTime, timeUnit);
+                return locked;
+            } finally {
+                if (!locked) {
+                    releaseReference();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            releaseReference();
+        }
+
+        private void releaseReference() {
+            if (!this.released) {
+                this.released = true;
+                release(this.key);
+            }
+        }
+
+    }
+
+}
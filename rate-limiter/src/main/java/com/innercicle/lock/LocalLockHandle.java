@@ -0,0 +1,33 @@
+package com.innercicle.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <h2>JVM 내부 Lock 핸들</h2>
+ * {@link Lock} 을 감싸 획득 여부를 핸들 단위로 기록한다.
+ */
+class LocalLockHandle implements LockHandle {
+
+    private final Lock lock;
+    private boolean locked;
+
+    LocalLockHandle(Lock lock) {
+        this.lock = lock;
+    }
+
+    @Override
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+        this.locked = lock.tryLock(waitTime, timeUnit);
+        return this.locked;
+    }
+
+    @Override
+    public void unlock() {
+        if (this.locked) {
+            this.locked = false;
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.innercicle.lock;
+
+import com.innercicle.annotations.RateLimiting;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>호출 단위 Lock 핸들</h2>
+ * {@link LockManager#getLock(String)} 호출마다 새로 만들어지며, 획득한 Lock 의 상태를 호출한 쪽에서만 보관한다. <br/>
+ * 싱글톤 빈의 필드에 Lock 을 담지 않으므로, 동시 요청이 서로의 Lock 을 덮어쓰거나 해제하지 않는다.
+ */
+public interface LockHandle {
+
+    /**
+     * <h2>Lock 획득 시도</h2>
+     *
+     * @param waitTime  대기 시간
+     * @param leaseTime 임대 시간, JVM 내부 Lock 은 사용하지 않는다.
+     * @param timeUnit  시간 단위
+     * @return 획득 여부
+     */
+    boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException;
+
+    /**
+     * <h2>Lock 획득 시도</h2>
+     *
+     * @param rateLimiting 대기 시간, 임대 시간 설정
+     * @return 획득 여부
+     */
+    default boolean tryLock(RateLimiting rateLimiting) throws InterruptedException {
+        return tryLock(rateLimiting.waitTime(), rateLimiting.leaseTime(), rateLimiting.timeUnit());
+    }
+
+    /**
+     * <h2>Lock 해제</h2>
+     * 이 핸들로 획득한 Lock 만 해제하며, 획득하지 못한 경우에는 아무것도 하지 않는다.
+     */
+    void unlock();
+
+}
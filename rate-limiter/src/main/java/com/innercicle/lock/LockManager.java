@@ -1,23 +1,17 @@
 package com.innercicle.lock;
 
-import com.innercicle.annotations.RateLimiting;
-import lombok.extern.slf4j.Slf4j;
-
-import java.util.concurrent.locks.Lock;
-
-@Slf4j
-public abstract class LockManager {
-
-    protected Lock lock;
-
-    public boolean tryLock(RateLimiting rateLimiting) throws InterruptedException {
-        return lock.tryLock(rateLimiting.waitTime(), rateLimiting.timeUnit());
-    }
-
-    public abstract void getLock(String key);
-
-    public void unlock() {
-        lock.unlock();
-    }
+/**
+ * <h2>Lock 관리자</h2>
+ * 키에 해당하는 Lock 핸들을 제공한다. 관리자는 상태를 갖지 않으며, 획득한 Lock 은 반환된 {@link LockHandle} 이 보관한다.
+ */
+public interface LockManager {
+
+    /**
+     * <h2>Lock 핸들 조회</h2>
+     *
+     * @param key Lock 키
+     * @return 호출 단위 Lock 핸들
+     */
+    LockHandle getLock(String key);
 
 }
@@ -1,34 +1,47 @@
 package com.innercicle.lock;
 
-import com.innercicle.annotations.RateLimiting;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @RequiredArgsConstructor
-public class RedisRedissonManager extends LockManager {
+public class RedisRedissonManager implements LockManager {
 
     private final RedissonClient redissonClient;
 
-    private RLock rLock;
-
     @Override
-    public void getLock(String key) {
-        this.rLock = redissonClient.getLock(key);
+    public LockHandle getLock(String key) {
+        return new RedissonLockHandle(redissonClient.getLock(key));
     }
 
-    @Override
-    public boolean tryLock(RateLimiting rateLimiting) throws InterruptedException {
-        return rLock.tryLock(rateLimiting.waitTime(), rateLimiting.leaseTime(), rateLimiting.timeUnit());
-    }
+    /**
+     * <h2>Redisson Lock 핸들</h2>
+     * 임대 시간이 지나 Lock 이 이미 풀린 경우에는 해제하지 않는다.
+     */
+    @RequiredArgsConstructor
+    private static class RedissonLockHandle implements LockHandle {
 
-    @Override
-    public void unlock() {
-        if (rLock != null && rLock.isLocked() && rLock.isHeldByCurrentThread()) {
-            rLock.unlock();
+        private final RLock rLock;
+        private boolean locked;
+
+        @Override
+        public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+            this.locked = rLock.tryLock(waitTime, leaseTime, timeUnit);
+            return this.locked;
+        }
+
+        @Override
+        public void unlock() {
+            if (this.locked && rLock.isHeldByCurrentThread()) {
+                rLock.unlock();
+            }
+            this.locked = false;
         }
+
     }
 
 }
@@ -0,0 +1,53 @@
+package com.innercicle.lock;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h2>Striped Lock 관리자</h2>
+ * 고정 개수의 Lock 을 미리 만들어 두고, 키의 해시로 Lock 을 선택한다. <br/>
+ * - 키 종류가 많아져도 메모리 사용량이 일정하고, 새 키마다 Lock 을 생성하지 않는다. <br/>
+ * - 서로 다른 키가 같은 Lock 을 공유할 수 있으나, Lock 구간은 판단과 반영뿐이므로 경합 비용이 작다. <br/>
+ * - Lock 개수는 2의 거듭제곱으로 올림하여 비트 마스크로 인덱스를 계산한다.
+ */
+public class StripedLockManager implements LockManager {
+
+    public static final int DEFAULT_STRIPES = 1024;
+    private static final int MAXIMUM_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLockManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public StripedLockManager(int stripes) {
+        if (stripes <= 0 || stripes > MAXIMUM_STRIPES) {
+            throw new IllegalArgumentException("Lock 개수는 1 ~ " + MAXIMUM_STRIPES + " 사이여야 합니다. : " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public LockHandle getLock(String key) {
+        return new LocalLockHandle(locks[indexOf(key)]);
+    }
+
+    int stripes() {
+        return locks.length;
+    }
+
+    /**
+     * 상위 비트를 하위 비트에 섞어 마스크 연산 시 해시가 한쪽으로 몰리지 않도록 한다.
+     */
+    int indexOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+}
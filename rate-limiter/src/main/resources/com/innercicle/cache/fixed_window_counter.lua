@@ -0,0 +1,23 @@
+-- 고정 윈도우 카운터 : 제한 이내인 경우에만 현재 윈도우 카운터를 증가시킨다.
+-- KEYS[1] : 현재 윈도우 카운터 키 (윈도우 번호 포함)
+-- ARGV[1] : 윈도우 내 요청 제한 수
+-- ARGV[2] : 현재 윈도우가 끝날 때까지 남은 시간(ms)
+-- ARGV[3] : 증가시킬 요청 수, 0 이면 상태를 바꾸지 않고 조회만 한다.
+-- return  : {허용 여부(1/0), 남은 요청 수, 재시도까지 대기 시간(ms)}
+local limit = tonumber(ARGV[1])
+local untilReset = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+
+local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+if count + permits > limit then
+    return {0, math.max(limit - count, 0), untilReset}
+end
+
+if permits > 0 then
+    count = redis.call('INCRBY', KEYS[1], permits)
+    if count == permits then
+        -- 윈도우의 첫 요청에서만 만료 시간을 지정한다. 윈도우가 끝나면 키도 함께 사라진다.
+        redis.call('PEXPIRE', KEYS[1], untilReset)
+    end
+end
+return {1, limit - count, 0}
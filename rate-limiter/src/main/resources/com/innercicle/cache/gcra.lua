@@ -0,0 +1,31 @@
+-- GCRA(Generic Cell Rate Algorithm) : 키당 이론적 도착 시각(TAT) 하나만 저장한다.
+-- 시간 값은 모두 마이크로초 단위로 계산하여 정수로 저장한다.
+-- KEYS[1] : TAT 키
+-- ARGV[1] : 요청 1개당 배출 간격(us)
+-- ARGV[2] : 버스트 허용량
+-- ARGV[3] : 요청 시각(epoch us)
+-- ARGV[4] : 요청 수, 0 이면 상태를 바꾸지 않고 조회만 한다.
+-- return  : {허용 여부(1/0), 남은 요청 수, 재시도까지 대기 시간(ms)}
+local interval = tonumber(ARGV[1])
+local burst = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local permits = tonumber(ARGV[4])
+local tolerance = interval * burst
+
+local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+if tat < now then
+    tat = now
+end
+
+local newTat = tat + interval * permits
+local allowAt = newTat - tolerance
+if allowAt > now then
+    local remaining = math.max(math.floor((now - (tat - tolerance)) / interval), 0)
+    return {0, remaining, math.ceil((allowAt - now) / 1000)}
+end
+
+if permits > 0 then
+    -- TAT 가 지나면 초기 상태와 같으므로 그 시점에 만료시킨다.
+    redis.call('SET', KEYS[1], newTat, 'PX', math.ceil((newTat - now) / 1000))
+end
+return {1, math.floor((now - allowAt) / interval), 0}
@@ -0,0 +1,27 @@
+-- 해시 저장 형식 토큰 정보 저장 : 저장된 값과 다른 필드만 기록하고 만료 시간을 지정하는 것을 하나의 원자적 연산으로 수행한다.
+-- 바뀌지 않은 필드는 다시 쓰지 않으므로, 복제와 AOF 에는 바뀐 필드만 전달된다.
+-- KEYS[1] : 토큰 정보 키
+-- ARGV[1] : 만료 시간(ms)
+-- ARGV[2..] : 필드 이름, 값 쌍
+-- return  : {기록한 필드 수}
+local ttl = tonumber(ARGV[1])
+
+local names = {}
+for i = 2, #ARGV, 2 do
+    names[#names + 1] = ARGV[i]
+end
+local stored = redis.call('HMGET', KEYS[1], unpack(names))
+
+local changed = {}
+for i = 1, #names do
+    local value = ARGV[i * 2 + 1]
+    if stored[i] ~= value then
+        changed[#changed + 1] = names[i]
+        changed[#changed + 1] = value
+    end
+end
+if #changed > 0 then
+    redis.call('HSET', KEYS[1], unpack(changed))
+end
+redis.call('PEXPIRE', KEYS[1], ttl)
+return {#changed / 2}
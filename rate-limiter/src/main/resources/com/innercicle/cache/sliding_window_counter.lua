@@ -0,0 +1,39 @@
+-- 이동 윈도우 카운터 : 현재/이전 고정 윈도우 카운터로 가중 추정치를 계산하고, 허용 시 현재 카운터를 증가시킨다.
+-- KEYS[1] : 현재 윈도우 카운터 키
+-- KEYS[2] : 이전 윈도우 카운터 키
+-- ARGV[1] : 윈도우 크기(ms)
+-- ARGV[2] : 윈도우 내 요청 제한 수
+-- ARGV[3] : 요청 시각(epoch ms)
+-- ARGV[4] : 증가시킬 요청 수, 0 이면 상태를 바꾸지 않고 조회만 한다.
+-- return  : {허용 여부(1/0), 남은 요청 수, 재시도까지 대기 시간(ms)}
+local window = tonumber(ARGV[1])
+local limit = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local permits = tonumber(ARGV[4])
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+local elapsed = now % window
+local estimated = previous * (window - elapsed) / window + current
+
+if estimated + permits > limit then
+    local retryAfter
+    if current + permits > limit then
+        -- 현재 윈도우가 끝나 이전 윈도우가 된 뒤, 가중치가 충분히 줄어들 때까지 대기
+        retryAfter = window - elapsed
+        if current > 0 then
+            retryAfter = retryAfter + math.max(0, math.ceil(window * (1 - (limit - permits) / current)))
+        end
+    else
+        -- 이전 윈도우의 가중치가 충분히 줄어들 때까지 대기
+        retryAfter = math.ceil(window * (1 - (limit - permits - current) / previous)) - elapsed
+    end
+    return {0, math.max(math.floor(limit - estimated), 0), math.max(retryAfter, 1)}
+end
+
+if permits > 0 then
+    redis.call('INCRBY', KEYS[1], permits)
+    -- 다음 윈도우에서 이전 윈도우 카운터로 사용되므로 윈도우 2개 만큼 보관한다.
+    redis.call('PEXPIRE', KEYS[1], window * 2)
+end
+return {1, math.floor(limit - estimated - permits), 0}
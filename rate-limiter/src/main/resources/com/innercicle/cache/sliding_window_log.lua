@@ -0,0 +1,41 @@
+-- 이동 윈도우 로그 : 만료된 로그 정리, 판단, 기록을 한 번의 호출로 원자적으로 수행한다.
+-- KEYS[1] : 로그 키 (sorted set, score : 요청 시각)
+-- ARGV[1] : 윈도우 크기(ms)
+-- ARGV[2] : 윈도우 내 요청 제한 수
+-- ARGV[3] : 요청 시각(epoch ms)
+-- ARGV[4] : 기록할 요청 수, 0 이면 기록하지 않고 조회만 한다.
+-- ARGV[5] : 요청 식별자 (member)
+-- return  : {허용 여부(1/0), 남은 요청 수, 재시도까지 대기 시간(ms)}
+local window = tonumber(ARGV[1])
+local limit = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local permits = tonumber(ARGV[4])
+local member = ARGV[5]
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+local count = redis.call('ZCARD', KEYS[1])
+
+if count + permits > limit then
+    local retryAfter = window
+    -- 가장 오래된 로그부터 만료되므로, 필요한 만큼 빠질 시점의 로그를 찾는다.
+    local index = count + permits - limit - 1
+    if index < count then
+        local entry = redis.call('ZRANGE', KEYS[1], index, index, 'WITHSCORES')
+        if entry[2] then
+            retryAfter = tonumber(entry[2]) + window - now
+        end
+    end
+    return {0, math.max(limit - count, 0), retryAfter}
+end
+
+if permits == 1 then
+    redis.call('ZADD', KEYS[1], now, member)
+elseif permits > 1 then
+    for i = 1, permits do
+        redis.call('ZADD', KEYS[1], now, member .. '.' .. i)
+    end
+end
+if permits > 0 then
+    redis.call('PEXPIRE', KEYS[1], window)
+end
+return {1, limit - count - permits, 0}
@@ -0,0 +1,42 @@
+-- 토큰 버킷 : 리필, 판단, 차감을 한 번의 호출로 원자적으로 수행한다.
+-- KEYS[1] : 버킷 키 (hash : tokens, ts)
+-- ARGV[1] : 버킷 용량
+-- ARGV[2] : 토큰 1개가 채워지는 간격(ms)
+-- ARGV[3] : 요청 시각(epoch ms)
+-- ARGV[4] : 차감할 토큰 수, 0 이면 상태를 바꾸지 않고 조회만 한다.
+-- return  : {허용 여부(1/0), 남은 토큰 수, 재시도까지 대기 시간(ms)}
+local capacity = tonumber(ARGV[1])
+local interval = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local permits = tonumber(ARGV[4])
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+if now > ts then
+    local refill = math.floor((now - ts) / interval)
+    if refill > 0 then
+        tokens = math.min(capacity, tokens + refill)
+        ts = ts + refill * interval
+    end
+end
+if tokens >= capacity then
+    ts = now
+end
+
+if tokens < permits then
+    return {0, tokens, (permits - tokens) * interval - (now - ts)}
+end
+
+if permits > 0 then
+    tokens = tokens - permits
+    redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', ts)
+    -- 버킷이 가득 찰 때까지만 보관한다. 만료 후에는 가득 찬 버킷으로 다시 시작하므로 결과가 같다.
+    redis.call('PEXPIRE', KEYS[1], (capacity - tokens + 1) * interval)
+end
+return {1, tokens, 0}
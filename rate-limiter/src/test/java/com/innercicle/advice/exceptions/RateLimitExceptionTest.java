@@ -43,4 +43,13 @@ class RateLimitExceptionTest {
             .hasFieldOrPropertyWithValue("retryAfter", retryAfter);
     }
 
+    @Test
+    void testStacklessException() {
+        // when
+        RateLimitException exception = new RateLimitException("Rate limit exceeded", 0, 10, 1);
+
+        // then
+        assertThat(exception.getStackTrace()).isEmpty(); // 거절 비용을 줄이기 위해 스택 트레이스를 만들지 않음
+    }
+
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.innercicle.aop;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelEvaluationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CustomSpringELParserTest {
 
@@ -62,6 +65,81 @@ class CustomSpringELParserTest {
         assertThat(result).isNull(); // #name이 null이므로 결과도 null
     }
 
+    @Test
+    void testParsedExpressionReused() {
+        // given
+        String[] parameterNames = {"a", "b"};
+        Expression expression = CustomSpringELParser.parseExpression("#a + #b");
+
+        // when
+        Object first = CustomSpringELParser.getDynamicValue(parameterNames, new Object[] {1, 2}, expression);
+        Object second = CustomSpringELParser.getDynamicValue(parameterNames, new Object[] {3, 4}, expression); // 컴파일된 표현식으로 평가
+
+        // then
+        assertThat(first).isEqualTo(3);
+        assertThat(second).isEqualTo(7);
+    }
+
+    @Test
+    void testBlankExpression() {
+        // when
+        Object result = CustomSpringELParser.getDynamicValue(new String[0], new Object[0], "");
+
+        // then
+        assertThat(result).isEqualTo(""); // 빈 표현식은 빈 문자열
+    }
+
+    @Test
+    void testCompiledExpressionWithDifferentArgumentType() {
+        // given
+        Expression expression = CustomSpringELParser.parseExpression("#target.name");
+        String[] parameterNames = {"target"};
+        for (int i = 0; i < 10; i++) {
+            CustomSpringELParser.getDynamicValue(parameterNames, new Object[] {new User("John", 30)}, expression); // 컴파일될 만큼 평가
+        }
+
+        // when
+        Object result = CustomSpringELParser.getDynamicValue(parameterNames, new Object[] {new Team("backend")}, expression);
+
+        // then
+        assertThat(result).isEqualTo("backend"); // 타입이 바뀌면 해석 실행으로 돌아감
+    }
+
+    @Test
+    void testTypeReferenceNotSupported() {
+        // given
+        Expression expression = CustomSpringELParser.parseExpression("T(java.lang.System).currentTimeMillis()");
+
+        // when, then
+        assertThatThrownBy(() -> CustomSpringELParser.getDynamicValue(new String[0], new Object[0], expression))
+            .isInstanceOf(SpelEvaluationException.class); // 타입 참조는 허용하지 않음
+    }
+
+    @Test
+    void testAssignmentNotSupported() {
+        // given
+        Expression expression = CustomSpringELParser.parseExpression("#user.name = 'Bob'");
+        Object[] args = {new User("Alice", 25)};
+
+        // when, then
+        assertThatThrownBy(() -> CustomSpringELParser.getDynamicValue(new String[] {"user"}, args, expression))
+            .isInstanceOf(SpelEvaluationException.class); // 대입은 허용하지 않음
+    }
+
+    static class Team {
+
+        private final String name;
+
+        public Team(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+    }
+
     static class User {
 
         private final String name;
@@ -14,7 +14,8 @@ class LockTypeTest {
         // then
         assertThat(values).containsExactly(
             LockType.REDIS_REDISSON,
-            LockType.CONCURRENT_HASH_MAP
+            LockType.CONCURRENT_HASH_MAP,
+            LockType.STRIPED
         );
     }
 
@@ -0,0 +1,189 @@
+package com.innercicle.aop;
+
+import com.innercicle.annotations.RateLimiting;
+import com.innercicle.domain.AbstractTokenInfo;
+import com.innercicle.domain.RateLimitDecision;
+import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.lock.LockManager;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitAopTest {
+
+    private final List<String> acquiredKeys = new ArrayList<>();
+    private boolean rejected;
+    private RateLimitMethodRegistry registry;
+    private RateLimitAop rateLimitAop;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("rateLimitHandler", new RecordingHandler());
+        registry = new RateLimitMethodRegistry(beanFactory.getBeanProvider(RateLimitHandler.class),
+                                               beanFactory.getBeanProvider(RateLimitingProperties.class));
+        RateLimitingProperties properties = new RateLimitingProperties();
+        properties.setEnabled(true);
+        LockManager lockManager = key -> {
+            throw new AssertionError("원자적 핸들러는 Lock 을 사용하지 않음");
+        };
+        rateLimitAop = new RateLimitAop(properties, lockManager, registry);
+    }
+
+    @Test
+    void testExecuteConditionFalseBypassesLimiter() throws Throwable {
+        // given
+        TierService service = new TierService();
+        registry.postProcessAfterInitialization(service, "tierService");
+        Method method = TierService.class.getDeclaredMethod("call", String.class);
+
+        // when
+        Object result = rateLimitAop.rateLimit(joinPoint(service, method, "PREMIUM"));
+
+        // then
+        assertThat(result).isEqualTo("called, PREMIUM");
+        assertThat(acquiredKeys).isEmpty(); // 처리율 판단 없이 실행
+    }
+
+    @Test
+    void testExecuteConditionTrueAppliesLimiter() throws Throwable {
+        // given
+        TierService service = new TierService();
+        registry.postProcessAfterInitialization(service, "tierService");
+        Method method = TierService.class.getDeclaredMethod("call", String.class);
+
+        // when
+        Object result = rateLimitAop.rateLimit(joinPoint(service, method, "BASIC"));
+
+        // then
+        assertThat(result).isEqualTo("called, BASIC");
+        assertThat(acquiredKeys).containsExactly("cache-callBASIC");
+    }
+
+    @Test
+    void testPublicFallbackInvokedOnProxy() throws Throwable {
+        // given
+        FallbackService target = new FallbackService();
+        FallbackService proxy = new AdvisedFallbackService(); // 클래스 기반 프록시처럼 대상 클래스를 상속
+        registry.postProcessAfterInitialization(target, "fallbackService");
+        Method method = FallbackService.class.getDeclaredMethod("greet", String.class);
+        rejected = true;
+
+        // when
+        Object result = rateLimitAop.rateLimit(joinPoint(proxy, target, method, "Alice"));
+
+        // then
+        assertThat(result).isEqualTo("advised busy, Alice"); // 프록시의 어드바이스가 적용됨
+    }
+
+    @Test
+    void testPrivateFallbackInvokedOnTarget() throws Throwable {
+        // given
+        FallbackService target = new FallbackService();
+        FallbackService proxy = new AdvisedFallbackService();
+        registry.postProcessAfterInitialization(target, "fallbackService");
+        Method method = FallbackService.class.getDeclaredMethod("hidden", String.class);
+        rejected = true;
+
+        // when
+        Object result = rateLimitAop.rateLimit(joinPoint(proxy, target, method, "Alice"));
+
+        // then
+        assertThat(result).isEqualTo("hidden busy, Alice"); // 프록시가 가로챌 수 없으므로 대상 객체로 호출
+    }
+
+    private ProceedingJoinPoint joinPoint(Object target, Method method, Object... args) {
+        return joinPoint(target, target, method, args);
+    }
+
+    private ProceedingJoinPoint joinPoint(Object proxy, Object target, Method method, Object... args) {
+        MethodSignature signature = (MethodSignature)Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {MethodSignature.class},
+            (self, invoked, invokedArgs) -> "getMethod".equals(invoked.getName()) ? method : null);
+        return (ProceedingJoinPoint)Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {ProceedingJoinPoint.class},
+            (self, invoked, invokedArgs) -> switch (invoked.getName()) {
+                case "getSignature" -> signature;
+                case "getThis" -> proxy;
+                case "getTarget" -> target;
+                case "getArgs" -> args;
+                case "proceed" -> method.invoke(target, args);
+                default -> null;
+            });
+    }
+
+    static class TierService {
+
+        @RateLimiting(name = "call", cacheKey = "#tier", executeCondition = "#tier != 'PREMIUM'")
+        public String call(String tier) {
+            return "called, " + tier;
+        }
+
+    }
+
+    static class FallbackService {
+
+        @RateLimiting(name = "greet", cacheKey = "#name", fallbackMethodName = "greetFallback")
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+
+        public String greetFallback(String name) {
+            return "busy, " + name;
+        }
+
+        @RateLimiting(name = "hidden", cacheKey = "#name", fallbackMethodName = "hiddenFallback")
+        public String hidden(String name) {
+            return "hello, " + name;
+        }
+
+        private String hiddenFallback(String name) {
+            return "hidden busy, " + name;
+        }
+
+    }
+
+    static class AdvisedFallbackService extends FallbackService {
+
+        @Override
+        public String greetFallback(String name) {
+            return "advised " + super.greetFallback(name);
+        }
+
+    }
+
+    /**
+     * 판단 요청을 기록하고 rejected 설정에 따라 허용 또는 거절하는 원자적 핸들러
+     */
+    private class RecordingHandler implements RateLimitHandler {
+
+        @Override
+        public AbstractTokenInfo allowRequest(String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RateLimitDecision tryAcquire(String key) {
+            acquiredKeys.add(key);
+            return rejected ? RateLimitDecision.rejected(0, 1, 0, 0) : RateLimitDecision.allowed(1, 1, 0);
+        }
+
+        @Override
+        public boolean isAtomic() {
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.innercicle.aop;
+
+import com.innercicle.annotations.RateLimiting;
+import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.key.ArgumentKeyResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitMethodRegistryTest {
+
+    private RateLimitMethodRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        registry = new RateLimitMethodRegistry(beanFactory.getBeanProvider(RateLimitHandler.class),
+                                               beanFactory.getBeanProvider(RateLimitingProperties.class));
+    }
+
+    @Test
+    void testRegisteredAtPostProcessing() throws NoSuchMethodException {
+        // given
+        LimitedService bean = new LimitedService();
+
+        // when
+        registry.postProcessAfterInitialization(bean, "limitedService");
+        RateLimitMethodDescriptor descriptor = registry.get(LimitedService.class.getDeclaredMethod("limited"), null);
+
+        // then
+        assertThat(descriptor).isNotNull();
+        assertThat(descriptor.getRateLimiting().name()).isEqualTo("limited");
+        assertThat(descriptor.lockKey(descriptor.resolveKey(new Object[0]))).isEqualTo("limited-key");
+    }
+
+    @Test
+    void testNotAnnotatedMethod() throws NoSuchMethodException {
+        // given
+        LimitedService bean = new LimitedService();
+        registry.postProcessAfterInitialization(bean, "limitedService");
+
+        // when
+        RateLimitMethodDescriptor descriptor = registry.get(LimitedService.class.getDeclaredMethod("unlimited"), bean);
+
+        // then
+        assertThat(descriptor).isNull();
+    }
+
+    @Test
+    void testUnregisteredMethodNotCreatedOnRequest() throws NoSuchMethodException {
+        // given
+        LimitedService bean = new LimitedService(); // 후처리되지 않은 빈
+        Method method = LimitedService.class.getDeclaredMethod("limited");
+
+        // when
+        RateLimitMethodDescriptor beforeRegistration = registry.get(method, bean);
+        registry.postProcessAfterInitialization(bean, "limitedService");
+        RateLimitMethodDescriptor afterRegistration = registry.get(method, bean);
+
+        // then
+        assertThat(beforeRegistration).isNull(); // 요청 처리 중에는 메소드 정보를 만들지 않음
+        assertThat(afterRegistration).isNotNull(); // 등록 후에는 제외 기록이 남지 않음
+    }
+
+    @Test
+    void testRegisteredFromProxy() throws NoSuchMethodException {
+        // given
+        ProxyFactory proxyFactory = new ProxyFactory(new LimitedService());
+        proxyFactory.setProxyTargetClass(true);
+        Object proxy = proxyFactory.getProxy();
+
+        // when
+        registry.postProcessAfterInitialization(proxy, "limitedService");
+        RateLimitMethodDescriptor descriptor = registry.get(LimitedService.class.getDeclaredMethod("limited"), proxy);
+
+        // then
+        assertThat(descriptor).isNotNull(); // 프록시가 아닌 대상 클래스 기준으로 등록
+        assertThat(descriptor.getRateLimiting().name()).isEqualTo("limited");
+    }
+
+    @Test
+    void testInvalidExpressionFailsAtStartup() {
+        // when, then
+        assertThatThrownBy(() -> registry.postProcessAfterInitialization(new InvalidService(), "invalidService"))
+            .isInstanceOf(BeanInitializationException.class); // 첫 요청이 아닌 빈 초기화 시점에 실패
+    }
+
+    @Test
+    void testKeyResolver() throws NoSuchMethodException {
+        // given
+        registry.postProcessAfterInitialization(new LimitedService(), "limitedService");
+
+        // when
+        RateLimitMethodDescriptor descriptor = registry.get(LimitedService.class.getDeclaredMethod("byUserId", Long.class), null);
+
+        // then
+        assertThat(descriptor.cacheKey(descriptor.resolveKey(new Object[] {7L}))).isEqualTo("cache-byUserId7"); // SpEL 없이 첫 번째 인자 사용
+    }
+
+    @Test
+    void testCacheKeyWithKeyResolverFailsAtStartup() {
+        // when, then
+        assertThatThrownBy(() -> registry.postProcessAfterInitialization(new AmbiguousService(), "ambiguousService"))
+            .isInstanceOf(BeanInitializationException.class);
+    }
+
+    @Test
+    void testConditions() throws NoSuchMethodException {
+        // given
+        registry.postProcessAfterInitialization(new LimitedService(), "limitedService");
+        RateLimitMethodDescriptor onlyExecute = registry.get(LimitedService.class.getDeclaredMethod("onlyExecute"), null);
+        RateLimitMethodDescriptor alwaysSkip = registry.get(LimitedService.class.getDeclaredMethod("alwaysSkip"), null);
+        RateLimitMethodDescriptor limited = registry.get(LimitedService.class.getDeclaredMethod("limited"), null);
+
+        // when, then
+        assertThat(onlyExecute.isLimited(new Object[0])).isTrue();
+        assertThat(alwaysSkip.isLimited(new Object[0])).isFalse(); // skipCondition 이 참이면 제외
+        assertThat(limited.isLimited(new Object[0])).isTrue();     // 조건이 없으면 항상 적용
+    }
+
+    @Test
+    void testConditionsReadParameters() throws NoSuchMethodException {
+        // given
+        registry.postProcessAfterInitialization(new LimitedService(), "limitedService");
+        RateLimitMethodDescriptor byTier = registry.get(LimitedService.class.getDeclaredMethod("byTier", String.class), null);
+        RateLimitMethodDescriptor byCaller = registry.get(LimitedService.class.getDeclaredMethod("byCaller", String.class), null);
+
+        // when, then
+        assertThat(byTier.isLimited(new Object[] {"BASIC"})).isTrue();
+        assertThat(byTier.isLimited(new Object[] {"PREMIUM"})).isFalse();       // executeCondition 이 거짓이면 제외
+        assertThat(byCaller.isLimited(new Object[] {"external-api"})).isTrue();
+        assertThat(byCaller.isLimited(new Object[] {"internal-batch"})).isFalse(); // skipCondition 이 참이면 제외
+    }
+
+    @Test
+    void testConditionOnNullParameter() throws NoSuchMethodException {
+        // given
+        registry.postProcessAfterInitialization(new LimitedService(), "limitedService");
+        RateLimitMethodDescriptor byTier = registry.get(LimitedService.class.getDeclaredMethod("byTier", String.class), null);
+
+        // when, then
+        assertThat(byTier.isLimited(new Object[] {null})).isTrue(); // null 과 비교한 결과로 평가
+    }
+
+    @Test
+    void testFallback() throws Throwable {
+        // given
+        LimitedService bean = new LimitedService();
+        registry.postProcessAfterInitialization(bean, "limitedService");
+        RateLimitMethodDescriptor descriptor = registry.get(LimitedService.class.getDeclaredMethod("greet", String.class), null);
+
+        // when
+        Object result = descriptor.fallback(bean, bean, new Object[] {"Alice"});
+
+        // then
+        assertThat(descriptor.hasFallback()).isTrue();
+        assertThat(result).isEqualTo("busy, Alice"); // private 대체 메소드도 MethodHandle 로 호출
+    }
+
+    @Test
+    void testMissingFallbackFailsAtStartup() {
+        // when, then
+        assertThatThrownBy(() -> registry.postProcessAfterInitialization(new MissingFallbackService(), "missingFallbackService"))
+            .isInstanceOf(BeanInitializationException.class);
+    }
+
+    @Test
+    void testClassLevelPolicyShared() throws NoSuchMethodException {
+        // given
+        registry.postProcessAfterInitialization(new ClassLevelService(), "classLevelService");
+
+        // when
+        RateLimitMethodDescriptor first = registry.get(ClassLevelService.class.getDeclaredMethod("first"), null);
+        RateLimitMethodDescriptor second = registry.get(ClassLevelService.class.getDeclaredMethod("second"), null);
+        RateLimitMethodDescriptor overridden = registry.get(ClassLevelService.class.getDeclaredMethod("overridden"), null);
+
+        // then
+        assertThat(first.getRateLimiting().name()).isEqualTo("shared");
+        assertThat(first.lockKey("")).isEqualTo(second.lockKey("")).isEqualTo("class:shared"); // 클래스의 메소드가 같은 키를 공유
+        assertThat(overridden.getRateLimiting().name()).isEqualTo("overridden");         // 메소드 설정이 우선
+        assertThat(overridden.lockKey("")).isEqualTo("overridden");
+        assertThat(registry.get(ClassLevelService.class.getDeclaredMethod("internal"), null)).isNull(); // public 메소드만 적용
+    }
+
+    @RateLimiting(name = "shared")
+    static class ClassLevelService {
+
+        public void first() {
+        }
+
+        public void second() {
+        }
+
+        @RateLimiting(name = "overridden")
+        public void overridden() {
+        }
+
+        void internal() {
+        }
+
+    }
+
+    static class LimitedService {
+
+        @RateLimiting(name = "greet", fallbackMethodName = "greetFallback")
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+
+        private String greetFallback(String name) {
+            return "busy, " + name;
+        }
+
+        @RateLimiting(name = "onlyExecute", executeCondition = "1 == 1")
+        public void onlyExecute() {
+        }
+
+        @RateLimiting(name = "alwaysSkip", executeCondition = "true", skipCondition = "'internal'.startsWith('int')")
+        public void alwaysSkip() {
+        }
+
+        @RateLimiting(name = "byTier", executeCondition = "#tier != 'PREMIUM'")
+        public void byTier(String tier) {
+        }
+
+        @RateLimiting(name = "byCaller", skipCondition = "#caller.startsWith('internal')")
+        public void byCaller(String caller) {
+        }
+
+        @RateLimiting(name = "byUserId", keyResolver = ArgumentKeyResolver.class)
+        public void byUserId(Long userId) {
+        }
+
+
+        @RateLimiting(name = "limited", cacheKey = "'-key'")
+        public void limited() {
+        }
+
+        public void unlimited() {
+        }
+
+    }
+
+    static class AmbiguousService {
+
+        @RateLimiting(name = "ambiguous", cacheKey = "'key'", keyResolver = ArgumentKeyResolver.class)
+        public void ambiguous(Long userId) {
+        }
+
+    }
+
+    static class MissingFallbackService {
+
+        @RateLimiting(name = "missing", fallbackMethodName = "notExists")
+        public void missing() {
+        }
+
+    }
+
+    static class InvalidService {
+
+        @RateLimiting(name = "invalid", cacheKey = "#(")
+        public void invalid() {
+        }
+
+    }
+
+}
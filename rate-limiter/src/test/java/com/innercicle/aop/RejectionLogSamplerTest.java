@@ -0,0 +1,31 @@
+package com.innercicle.aop;
+
+import com.innercicle.domain.RateLimitDecision;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RejectionLogSamplerTest {
+
+    @Test
+    void testLogOncePerInterval() {
+        // given
+        AtomicLong clock = new AtomicLong(10_000);
+        RejectionLogSampler sampler = new RejectionLogSampler(1_000, clock::get);
+        RateLimitDecision decision = RateLimitDecision.rejected(0, 10, 1_000_000_000L, 11_000);
+
+        // when
+        boolean first = sampler.record("key", decision);
+        boolean second = sampler.record("key", decision);
+        clock.addAndGet(1_000);
+        boolean afterInterval = sampler.record("key", decision);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse(); // 같은 주기 안의 거절은 로그를 남기지 않음
+        assertThat(afterInterval).isTrue();
+    }
+
+}
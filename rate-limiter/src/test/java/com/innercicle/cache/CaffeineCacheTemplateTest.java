@@ -0,0 +1,63 @@
+package com.innercicle.cache;
+
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.FixedWindowCounter;
+import com.innercicle.domain.RateUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineCacheTemplateTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private BucketProperties bucketProperties;
+
+    @BeforeEach
+    void setUp() {
+        bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(2);
+        bucketProperties.setRate(1);
+        bucketProperties.setRateUnit(RateUnit.SECONDS);
+        FixedWindowCounter fixedWindowCounter = new FixedWindowCounter();
+        fixedWindowCounter.setWindowSize(1);
+        fixedWindowCounter.setRequestLimit(2);
+        bucketProperties.setFixedWindowCounter(fixedWindowCounter);
+    }
+
+    @Test
+    void testTokenBucket() {
+        // given
+        CaffeineCacheTemplate cacheTemplate = new CaffeineCacheTemplate(bucketProperties, 100, clock::get, Runnable::run);
+
+        // when
+        cacheTemplate.consumeTokenBucket("key", 1);
+        cacheTemplate.consumeTokenBucket("key", 1);
+        ConsumeResult rejected = cacheTemplate.consumeTokenBucket("key", 1);
+
+        // then
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterMillis()).isEqualTo(1_000);
+    }
+
+    @Test
+    void testEvictionKeepsFrequentlyUsedThrottledKey() {
+        // given
+        CaffeineCacheTemplate bounded = new CaffeineCacheTemplate(bucketProperties, 10, clock::get, Runnable::run);
+        bounded.consumeFixedWindowCounter("hot", 2);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            clock.incrementAndGet();
+            assertThat(bounded.consumeFixedWindowCounter("hot", 1).isAllowed()).isFalse();
+            bounded.consumeFixedWindowCounter("key-" + i, 1);
+        }
+
+        // then
+        assertThat(bounded.size()).isLessThanOrEqualTo(10);
+        assertThat(bounded.consumeFixedWindowCounter("hot", 1).isAllowed()).isFalse(); // 새 키가 몰려도 한도가 초기화되지 않음
+    }
+
+}
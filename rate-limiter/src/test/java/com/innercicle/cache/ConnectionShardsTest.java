@@ -0,0 +1,94 @@
+package com.innercicle.cache;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionShardsTest {
+
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void testSameKeyUsesSameConnection() {
+        // given
+        ConnectionShards<String> shards = new ConnectionShards<>(connections(4));
+
+        // when, then
+        assertThat(shards.sync("cache-user:1")).isSameAs(shards.sync("cache-user:1"));
+    }
+
+    @Test
+    void testKeysSpreadAcrossConnections() {
+        // given
+        ConnectionShards<String> shards = new ConnectionShards<>(connections(4));
+        Set<RedisClusterCommands<String, String>> used = new HashSet<>();
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            used.add(shards.sync("cache-user:" + i));
+        }
+
+        // then
+        assertThat(used).hasSize(4);
+    }
+
+    @Test
+    void testCloseClosesAllConnections() {
+        // given
+        ConnectionShards<String> shards = new ConnectionShards<>(connections(3));
+
+        // when
+        shards.close();
+
+        // then
+        assertThat(closed).hasValue(3);
+    }
+
+    @Test
+    void testEmptyConnectionsRejected() {
+        // when, then
+        assertThatThrownBy(() -> new ConnectionShards<String>(List.of())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Redis 없이 sync 명령 객체만 돌려주고 close 호출을 기록하는 커넥션
+     */
+    @SuppressWarnings("unchecked")
+    private List<StatefulRedisConnection<String, String>> connections(int size) {
+        List<StatefulRedisConnection<String, String>> connections = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            RedisCommands<String, String> commands = proxy(RedisCommands.class, () -> { });
+            connections.add(proxy(StatefulRedisConnection.class, closed::incrementAndGet, commands));
+        }
+        return connections;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<?> type, Runnable onClose, Object... sync) {
+        return (T)Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "sync" -> sync[0];
+                case "close" -> {
+                    onClose.run();
+                    yield null;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> null;
+            });
+    }
+
+}
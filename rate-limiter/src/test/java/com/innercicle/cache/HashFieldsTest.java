@@ -0,0 +1,63 @@
+package com.innercicle.cache;
+
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.FixedWindowCountInfo;
+import com.innercicle.domain.FixedWindowCounter;
+import com.innercicle.domain.TokenBucketInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashFieldsTest {
+
+    @Test
+    void testWriteUsesFieldNames() {
+        // given
+        BucketProperties bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(10);
+        TokenBucketInfo tokenBucketInfo = new TokenBucketInfo(bucketProperties, 3, 0);
+
+        // when
+        Map<String, String> fields = HashFields.write(tokenBucketInfo);
+
+        // then
+        assertThat(fields).containsEntry("capacity", "10")
+            .containsEntry("currentTokens", "3")
+            .containsKeys("lastRefillTimestamp", "rate");
+    }
+
+    @Test
+    void testReadAfterPartialUpdate() {
+        // given
+        BucketProperties bucketProperties = new BucketProperties();
+        FixedWindowCounter fixedWindowCounter = new FixedWindowCounter();
+        fixedWindowCounter.setRequestLimit(5);
+        bucketProperties.setFixedWindowCounter(fixedWindowCounter);
+        Map<String, String> fields = new HashMap<>(HashFields.write(new FixedWindowCountInfo(bucketProperties, 5, 0)));
+        fields.put("currentCount", "2"); // 바뀐 필드만 기록된 해시
+
+        // when
+        FixedWindowCountInfo read = (FixedWindowCountInfo)HashFields.read(FixedWindowCountInfo.class, fields);
+
+        // then
+        assertThat(read.getCurrentCount()).isEqualTo(2);
+        assertThat(read.getRemaining()).isEqualTo(3);
+    }
+
+    @Test
+    void testMissingFieldReadsAsZero() {
+        // given
+        Map<String, String> fields = Map.of("capacity", "10");
+
+        // when
+        TokenBucketInfo read = (TokenBucketInfo)HashFields.read(TokenBucketInfo.class, fields);
+
+        // then
+        assertThat(read.getCapacity()).isEqualTo(10);
+        assertThat(read.getCurrentTokens()).isZero();
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.innercicle.cache;
+
+import com.innercicle.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCacheTemplateTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private BucketProperties bucketProperties;
+    private LocalCacheTemplate localCacheTemplate;
+
+    @BeforeEach
+    void setUp() {
+        bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(2);
+        bucketProperties.setRate(1);
+        bucketProperties.setRateUnit(RateUnit.SECONDS);
+        FixedWindowCounter fixedWindowCounter = new FixedWindowCounter();
+        fixedWindowCounter.setWindowSize(1);
+        fixedWindowCounter.setRequestLimit(2);
+        bucketProperties.setFixedWindowCounter(fixedWindowCounter);
+        SlidingWindowLogging slidingWindowLogging = new SlidingWindowLogging();
+        slidingWindowLogging.setRequestLimit(2);
+        bucketProperties.setSlidingWindowLogging(slidingWindowLogging);
+        SlidingWindowCounter slidingWindowCounter = new SlidingWindowCounter();
+        slidingWindowCounter.setRequestLimit(10);
+        bucketProperties.setSlidingWindowCounter(slidingWindowCounter);
+        localCacheTemplate = new LocalCacheTemplate(bucketProperties, 100, clock::get, Runnable::run);
+    }
+
+    @Test
+    void testTokenBucket() {
+        // when
+        ConsumeResult first = localCacheTemplate.consumeTokenBucket("key", 1);
+        ConsumeResult second = localCacheTemplate.consumeTokenBucket("key", 1);
+        ConsumeResult rejected = localCacheTemplate.consumeTokenBucket("key", 1);
+
+        // then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(second.isAllowed()).isTrue();
+        assertThat(second.getRemaining()).isZero();
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterMillis()).isEqualTo(1_000);
+
+        // when
+        clock.addAndGet(1_000); // 토큰 1개 리필
+
+        // then
+        assertThat(localCacheTemplate.consumeTokenBucket("key", 1).isAllowed()).isTrue();
+        assertThat(localCacheTemplate.consumeTokenBucket("key", 1).isAllowed()).isFalse();
+    }
+
+    @Test
+    void testTokenBucketConsumeNotLostWhenEvictedConcurrently() {
+        // given
+        EvictingStore store = new EvictingStore();
+        LocalCacheTemplate template = new LocalCacheTemplate(bucketProperties, store, 100, clock::get, Runnable::run);
+        template.consumeTokenBucket("key", 0); // 가득 찬 버킷 생성
+        store.evictOnNextGet = true; // 조회 직후 정리 스레드가 가득 찬 버킷을 제거
+
+        // when
+        ConsumeResult first = template.consumeTokenBucket("key", 1);
+        ConsumeResult second = template.consumeTokenBucket("key", 1);
+        ConsumeResult rejected = template.consumeTokenBucket("key", 1);
+
+        // then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(second.getRemaining()).isZero(); // 제거된 버킷이 아닌 현재 버킷에서 차감됨
+        assertThat(rejected.isAllowed()).isFalse();
+    }
+
+    @Test
+    void testSlidingWindowLog() {
+        // given
+        localCacheTemplate.consumeSlidingWindowLog("key", 1);
+        clock.addAndGet(400);
+        localCacheTemplate.consumeSlidingWindowLog("key", 1);
+
+        // when
+        ConsumeResult rejected = localCacheTemplate.consumeSlidingWindowLog("key", 1);
+
+        // then
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterMillis()).isEqualTo(600); // 가장 오래된 요청이 윈도우를 벗어날 때까지
+
+        // when
+        clock.addAndGet(600);
+
+        // then
+        assertThat(localCacheTemplate.consumeSlidingWindowLog("key", 1).isAllowed()).isTrue();
+    }
+
+    @Test
+    void testSlidingWindowCounter() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            assertThat(localCacheTemplate.consumeSlidingWindowCounter("key", 1).isAllowed()).isTrue();
+        }
+        assertThat(localCacheTemplate.consumeSlidingWindowCounter("key", 1).isAllowed()).isFalse();
+
+        // when
+        clock.addAndGet(1_500); // 다음 윈도우의 중간, 이전 윈도우 가중치 50%
+
+        // then
+        ConsumeResult result = localCacheTemplate.consumeSlidingWindowCounter("key", 1);
+        assertThat(result.isAllowed()).isTrue();
+        assertThat(result.getRemaining()).isEqualTo(4); // 10 - (10 * 0.5 + 0) - 1
+    }
+
+    @Test
+    void testFixedWindowCounter() {
+        // given
+        localCacheTemplate.consumeFixedWindowCounter("key", 1);
+        localCacheTemplate.consumeFixedWindowCounter("key", 1);
+
+        // when
+        ConsumeResult rejected = localCacheTemplate.consumeFixedWindowCounter("key", 1);
+
+        // then
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterMillis()).isEqualTo(1_000); // 윈도우 시작 시점이므로 윈도우 전체
+
+        // when
+        clock.addAndGet(1_000);
+
+        // then
+        assertThat(localCacheTemplate.consumeFixedWindowCounter("key", 1).isAllowed()).isTrue();
+    }
+
+    @Test
+    void testGcra() {
+        // when
+        ConsumeResult first = localCacheTemplate.consumeGcra("key", 1);
+        ConsumeResult second = localCacheTemplate.consumeGcra("key", 1);
+        ConsumeResult rejected = localCacheTemplate.consumeGcra("key", 1);
+
+        // then
+        assertThat(first.isAllowed()).isTrue();
+        assertThat(first.getRemaining()).isEqualTo(1);
+        assertThat(second.isAllowed()).isTrue();
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterMillis()).isEqualTo(1_000);
+    }
+
+    @Test
+    void testEvictsWhenMaximumSizeExceeded() {
+        // given
+        LocalCacheTemplate bounded = new LocalCacheTemplate(bucketProperties, 10, clock::get, Runnable::run);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            bounded.consumeTokenBucket("key-" + i, 1);
+        }
+
+        // then
+        assertThat(bounded.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void testEvictionKeepsRecentlyUsedThrottledKey() {
+        // given
+        LocalCacheTemplate bounded = new LocalCacheTemplate(bucketProperties, 10, clock::get, Runnable::run);
+        bounded.consumeFixedWindowCounter("hot", 2);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            clock.incrementAndGet();
+            assertThat(bounded.consumeFixedWindowCounter("hot", 1).isAllowed()).isFalse();
+            bounded.consumeFixedWindowCounter("key-" + i, 1);
+        }
+
+        // then
+        assertThat(bounded.size()).isLessThanOrEqualTo(10);
+        assertThat(bounded.consumeFixedWindowCounter("hot", 1).isAllowed()).isFalse(); // 새 키가 몰려도 한도가 초기화되지 않음
+    }
+
+    /**
+     * 조회 직후 항목을 제거하여, 조회와 차감 사이에 정리 스레드가 항목을 제거한 상황을 재현하는 저장소
+     */
+    private static class EvictingStore extends ConcurrentHashMap<String, LocalCacheTemplate.Entry> {
+
+        private boolean evictOnNextGet;
+
+        @Override
+        public LocalCacheTemplate.Entry get(Object key) {
+            LocalCacheTemplate.Entry entry = super.get(key);
+            if (evictOnNextGet && entry != null) {
+                evictOnNextGet = false;
+                remove(key);
+            }
+            return entry;
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.innercicle.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedTokenBucketTest {
+
+    @Test
+    void testConsumeAndRefill() {
+        // given
+        long now = 1_000_000;
+        PackedTokenBucket tokenBucket = new PackedTokenBucket(2, 1_000, now);
+
+        // when, then
+        assertThat(tokenBucket.tryConsume(1, now).getRemaining()).isEqualTo(1);
+        assertThat(tokenBucket.tryConsume(1, now).getRemaining()).isZero();
+        ConsumeResult rejected = tokenBucket.tryConsume(1, now + 400);
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterMillis()).isEqualTo(600);
+        assertThat(tokenBucket.tryConsume(1, now + 1_000).isAllowed()).isTrue();
+        assertThat(tokenBucket.isFull(now + 1_000)).isFalse();
+        assertThat(tokenBucket.isFull(now + 3_000)).isTrue();
+    }
+
+    @Test
+    void testCapacityOutOfRange() {
+        assertThatThrownBy(() -> new PackedTokenBucket(PackedTokenBucket.MAX_CAPACITY + 1, 1_000, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConcurrentConsumeNeverExceedsCapacity() throws Exception {
+        // given
+        int capacity = 10_000;
+        int threadCount = 64;
+        PackedTokenBucket tokenBucket = new PackedTokenBucket(capacity, 60_000, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 500; j++) {
+                        if (tokenBucket.tryConsume(1, 0).isAllowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // then
+        assertThat(allowed.get()).isEqualTo(capacity); // 64 * 500 요청 중 정확히 용량만큼만 허용
+    }
+
+}
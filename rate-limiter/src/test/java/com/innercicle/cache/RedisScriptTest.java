@@ -0,0 +1,27 @@
+package com.innercicle.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisScriptTest {
+
+    @Test
+    void testScriptSourceLoaded() {
+        // given, when
+        RedisScript[] scripts = RedisScript.values();
+
+        // then
+        assertThat(scripts).allSatisfy(script -> assertThat(script.getSource()).contains("KEYS[1]"));
+    }
+
+    @Test
+    void testScriptShaIsHexDigest() {
+        // given, when
+        String sha = RedisScript.TOKEN_BUCKET.getSha();
+
+        // then
+        assertThat(sha).hasSize(40).matches("[0-9a-f]+"); // EVALSHA 에 사용하는 SHA1 digest
+    }
+
+}
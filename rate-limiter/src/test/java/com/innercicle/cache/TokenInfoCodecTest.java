@@ -0,0 +1,114 @@
+package com.innercicle.cache;
+
+import com.innercicle.domain.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenInfoCodecTest {
+
+    private final TokenInfoCodec codec = new TokenInfoCodec();
+    private BucketProperties bucketProperties;
+
+    @BeforeEach
+    void setUp() {
+        bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(10);
+        bucketProperties.setRate(1);
+        SlidingWindowCounter slidingWindowCounter = new SlidingWindowCounter();
+        slidingWindowCounter.setRequestLimit(20);
+        bucketProperties.setSlidingWindowCounter(slidingWindowCounter);
+    }
+
+    @Test
+    void testTokenBucketRoundTrip() {
+        // given
+        TokenBucketInfo tokenBucketInfo = new TokenBucketInfo(bucketProperties, 3, 0);
+
+        // when
+        ByteBuffer encoded = codec.encodeValue(tokenBucketInfo);
+        AbstractTokenInfo decoded = codec.decodeValue(encoded);
+
+        // then
+        assertThat(encoded.remaining()).isEqualTo(2 + tokenBucketInfo.binarySize()); // 버전, 타입 + 고정 길이 필드
+        assertThat(decoded).isInstanceOf(TokenBucketInfo.class);
+        assertThat(decoded.getRemaining()).isEqualTo(3);
+        assertThat(decoded.getCapacity()).isEqualTo(10);
+        assertThat(decoded.getLastRefillTimestamp()).isEqualTo(tokenBucketInfo.getLastRefillTimestamp());
+    }
+
+    @Test
+    void testByteBufEncodingMatchesByteBuffer() {
+        // given
+        SlidingWindowCounterInfo counterInfo = new SlidingWindowCounterInfo(bucketProperties, 5, 0);
+        String key = "cache-getUser{user-42}:키";
+        ByteBuf target = Unpooled.buffer();
+
+        // when
+        codec.encodeKey(key, target);
+        int keyLength = target.readableBytes();
+        codec.encodeValue(counterInfo, target);
+
+        // then
+        assertThat(keyLength).isLessThanOrEqualTo(codec.estimateSize(key));
+        assertThat(target.readableBytes() - keyLength).isEqualTo(codec.estimateSize(counterInfo)); // 값 길이는 정확히 계산
+        assertThat(target.nioBuffer(0, keyLength)).isEqualTo(codec.encodeKey(key));
+        assertThat(target.nioBuffer(keyLength, target.readableBytes() - keyLength)).isEqualTo(codec.encodeValue(counterInfo)); // 전송 버퍼에 같은 형식으로 기록
+    }
+
+    @Test
+    void testSubclassFieldsRoundTrip() {
+        // given
+        SlidingWindowCounterInfo counterInfo = new SlidingWindowCounterInfo(bucketProperties, 5, 0);
+        counterInfo.setBeforeFixedWindowCount(7);
+
+        // when
+        SlidingWindowCounterInfo decodedCounter = (SlidingWindowCounterInfo)codec.decodeValue(codec.encodeValue(counterInfo));
+
+        // then
+        assertThat(decodedCounter.getRequestLimit()).isEqualTo(20);
+        assertThat(decodedCounter.getCurrentCount()).isEqualTo(15);
+        assertThat(decodedCounter.getBeforeFixedWindowCount()).isEqualTo(7);
+    }
+
+    @Test
+    void testScriptOnlyResultNotPersisted() {
+        // given
+        GcraInfo gcraInfo = new GcraInfo(bucketProperties, 4, 1_500);
+
+        // when, then
+        assertThatThrownBy(() -> codec.encodeValue(gcraInfo)).isInstanceOf(IllegalArgumentException.class); // 판단 결과만 담는 타입은 저장하지 않음
+    }
+
+    @Test
+    void testReadsLegacyJson() {
+        // given
+        String json = "{\"type\":\"TokenBucketInfo\",\"capacity\":10,\"lastRefillTimestamp\":1000,\"currentTokens\":3,\"rate\":1000}";
+
+        // when
+        AbstractTokenInfo decoded = codec.decodeValue(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(decoded).isInstanceOf(TokenBucketInfo.class);
+        assertThat(decoded.getRemaining()).isEqualTo(3);
+        assertThat(decoded.getLastRefillTimestamp()).isEqualTo(1000);
+        assertThat(codec.encodeValue(decoded).remaining()).isLessThan(json.length() / 3); // 다음 저장부터 바이너리
+    }
+
+    @Test
+    void testUnknownVersionRejected() {
+        // given
+        ByteBuffer encoded = ByteBuffer.wrap(new byte[] {9, 1});
+
+        // when, then
+        assertThatThrownBy(() -> codec.decodeValue(encoded)).isInstanceOf(IllegalStateException.class);
+    }
+
+}
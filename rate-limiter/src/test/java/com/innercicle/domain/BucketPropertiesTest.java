@@ -46,4 +46,23 @@ class BucketPropertiesTest {
         assertThat(bucketProperties.getSlidingWindowCounter()).isEqualTo(slidingWindowCounter);
     }
 
+    @Test
+    void testStateTtlFollowsPolicy() {
+        // given
+        BucketProperties bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(5);
+        bucketProperties.setRateUnit(RateUnit.SECONDS);
+        FixedWindowCounter fixedWindowCounter = new FixedWindowCounter();
+        fixedWindowCounter.setWindowSize(60);
+
+        // when
+        long bucketTtl = bucketProperties.stateTtlMillis();
+        bucketProperties.setFixedWindowCounter(fixedWindowCounter);
+        long windowTtl = bucketProperties.stateTtlMillis();
+
+        // then
+        assertThat(bucketTtl).isEqualTo(5_000); // 빈 버킷이 가득 찰 때까지 : 용량 5 * 1초
+        assertThat(windowTtl).isEqualTo(60_000); // 고정 윈도우 크기가 더 길면 윈도우 크기
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.innercicle.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedWindowCountInfoTest {
+
+    private BucketProperties bucketProperties;
+
+    @BeforeEach
+    void setUp() {
+        bucketProperties = new BucketProperties();
+        FixedWindowCounter fixedWindowCounter = new FixedWindowCounter();
+        fixedWindowCounter.setRequestLimit(10);
+        bucketProperties.setFixedWindowCounter(fixedWindowCounter);
+    }
+
+    @Test
+    void testConsumeResultConstructor() {
+        // given, when
+        FixedWindowCountInfo info = new FixedWindowCountInfo(bucketProperties, 4, 0);
+
+        // then
+        assertThat(info.getCurrentCount()).isEqualTo(6);
+        assertThat(info.getRemaining()).isEqualTo(4);
+        assertThat(info.getLimit()).isEqualTo(10);
+        assertThat(info.getRetryAfter()).isZero();
+    }
+
+    @Test
+    void testRetryAfterIsTimeUntilWindowReset() {
+        // given, when
+        FixedWindowCountInfo info = new FixedWindowCountInfo(bucketProperties, 0, 42_001);
+
+        // then
+        assertThat(info.isUnavailable()).isTrue();
+        assertThat(info.getRetryAfter()).isEqualTo(43); // 윈도우 종료까지 남은 시간(초), 올림
+    }
+
+}
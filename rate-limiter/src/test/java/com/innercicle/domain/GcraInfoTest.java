@@ -0,0 +1,24 @@
+package com.innercicle.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraInfoTest {
+
+    @Test
+    void testConsumeResultConstructor() {
+        // given
+        BucketProperties bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(10);
+
+        // when
+        GcraInfo info = new GcraInfo(bucketProperties, 7, 250);
+
+        // then
+        assertThat(info.getRemaining()).isEqualTo(7);
+        assertThat(info.getLimit()).isEqualTo(10); // 버스트 허용량
+        assertThat(info.getRetryAfter()).isEqualTo(1); // 0.25초는 1초로 올림
+    }
+
+}
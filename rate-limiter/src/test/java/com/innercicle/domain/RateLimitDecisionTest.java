@@ -0,0 +1,49 @@
+package com.innercicle.domain;
+
+import com.innercicle.advice.exceptions.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitDecisionTest {
+
+    @Test
+    void testAllowed() {
+        // when
+        RateLimitDecision decision = RateLimitDecision.allowed(4, 5, 1_000);
+
+        // then
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.getRemaining()).isEqualTo(4);
+        assertThat(decision.getRetryAfterNanos()).isZero();
+    }
+
+    @Test
+    void testRejectedRetryAfterRoundsUp() {
+        // when
+        RateLimitDecision decision = RateLimitDecision.rejected(-1, 5, TimeUnit.MILLISECONDS.toNanos(1_200), 2_000);
+
+        // then
+        assertThat(decision.isRejected()).isTrue();
+        assertThat(decision.getRemaining()).isZero();            // 음수는 0 으로 보정
+        assertThat(decision.getRetryAfterSeconds()).isEqualTo(2); // 1.2초는 2초로 올림
+        assertThat(decision.getRetryAfterMillis()).isEqualTo(1_200);
+    }
+
+    @Test
+    void testToException() {
+        // given
+        RateLimitDecision decision = RateLimitDecision.rejected(0, 5, TimeUnit.SECONDS.toNanos(3), 2_000);
+
+        // when
+        RateLimitException exception = decision.toException();
+
+        // then
+        assertThat(exception.getRemaining()).isZero();
+        assertThat(exception.getLimit()).isEqualTo(5);
+        assertThat(exception.getRetryAfter()).isEqualTo(3);
+    }
+
+}
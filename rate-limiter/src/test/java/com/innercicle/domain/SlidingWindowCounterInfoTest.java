@@ -74,6 +74,23 @@ class SlidingWindowCounterInfoTest {
         assertThat(info.getBetweenRateCount()).isEqualTo(20);
     }
 
+    @Test
+    void testConsumeResultConstructorUsesCounterLimit() {
+        // given
+        SlidingWindowCounter slidingWindowCounter = new SlidingWindowCounter();
+        slidingWindowCounter.setRequestLimit(20);
+        bucketProperties.setSlidingWindowCounter(slidingWindowCounter);
+
+        // when
+        SlidingWindowCounterInfo info = new SlidingWindowCounterInfo(bucketProperties, 5, 2_500);
+
+        // then
+        assertThat(info.getLimit()).isEqualTo(20); // sliding-window-counter 설정의 요청 제한
+        assertThat(info.getCurrentCount()).isEqualTo(15);
+        assertThat(info.getRemaining()).isEqualTo(5);
+        assertThat(info.getRetryAfter()).isEqualTo(3); // 2.5초는 3초로 올림
+    }
+
     static class DummyBucketProperties extends BucketProperties {
 
         public DummyBucketProperties() {
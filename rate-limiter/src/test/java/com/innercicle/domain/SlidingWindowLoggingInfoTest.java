@@ -0,0 +1,42 @@
+package com.innercicle.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLoggingInfoTest {
+
+    private BucketProperties bucketProperties;
+
+    @BeforeEach
+    void setUp() {
+        bucketProperties = new BucketProperties();
+        SlidingWindowLogging slidingWindowLogging = new SlidingWindowLogging();
+        slidingWindowLogging.setRequestLimit(10);
+        bucketProperties.setSlidingWindowLogging(slidingWindowLogging);
+    }
+
+    @Test
+    void testConsumeResultConstructor() {
+        // given, when
+        SlidingWindowLoggingInfo info = new SlidingWindowLoggingInfo(bucketProperties, 3, 0);
+
+        // then
+        assertThat(info.getCurrentCount()).isEqualTo(7);
+        assertThat(info.getRemaining()).isEqualTo(3);
+        assertThat(info.getLimit()).isEqualTo(10);
+        assertThat(info.isAvailable()).isTrue();
+    }
+
+    @Test
+    void testRetryAfterRoundsUpToSeconds() {
+        // given, when
+        SlidingWindowLoggingInfo info = new SlidingWindowLoggingInfo(bucketProperties, 0, 1_200);
+
+        // then
+        assertThat(info.getRetryAfter()).isEqualTo(2); // 1.2초는 2초로 올림
+        assertThat(info.isUnavailable()).isTrue();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.innercicle.key;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheKeyBuilderTest {
+
+    @Test
+    void testPrefixedKeys() {
+        // given
+        CacheKeyBuilder keyBuilder = new CacheKeyBuilder("getUser", 0);
+
+        // when, then
+        assertThat(keyBuilder.lockKey("42")).isEqualTo("getUser42");
+        assertThat(keyBuilder.cacheKey("42")).isEqualTo("cache-getUser42");
+    }
+
+    @Test
+    void testLongKeyHashed() {
+        // given
+        CacheKeyBuilder keyBuilder = new CacheKeyBuilder("getUser", 8);
+        String longKey = "a-very-long-api-key-value";
+
+        // when
+        String cacheKey = keyBuilder.cacheKey(longKey);
+
+        // then
+        assertThat(cacheKey).isEqualTo("cache-getUser#" + String.format("%016x", CacheKeyBuilder.hash(longKey)));
+        assertThat(keyBuilder.cacheKey("short")).isEqualTo("cache-getUsershort"); // 기준 이하 길이는 그대로 사용
+    }
+
+    @Test
+    void testHashTagKeptWhenHashed() {
+        // given
+        CacheKeyBuilder keyBuilder = new CacheKeyBuilder("getUser", 8);
+        String longKey = "{user-42}:a-very-long-api-key-value";
+
+        // when
+        String cacheKey = keyBuilder.cacheKey(longKey);
+
+        // then
+        assertThat(cacheKey).isEqualTo("cache-getUser{user-42}#" + String.format("%016x", CacheKeyBuilder.hash(longKey)));
+    }
+
+    @Test
+    void testWithHashTag() {
+        // when, then
+        assertThat(CacheKeyBuilder.withHashTag("cache-getUser42")).isEqualTo("{cache-getUser42}");
+        assertThat(CacheKeyBuilder.withHashTag("cache-{user-42}:login")).isEqualTo("cache-{user-42}:login"); // 기존 tag 유지
+        assertThat(CacheKeyBuilder.hashTag("cache-{}42")).isNull(); // 빈 tag 는 Redis 도 무시
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.innercicle.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyResolverTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testArgumentKeyResolver() throws NoSuchMethodException {
+        // given
+        ArgumentKeyResolver keyResolver = new ArgumentKeyResolver(1);
+
+        // when
+        String key = keyResolver.resolve(new Object[] {"ignored", 42L});
+
+        // then
+        assertThat(key).isEqualTo("42");
+        assertThatThrownBy(() -> keyResolver.validate(Object.class.getMethod("hashCode")))
+            .isInstanceOf(IllegalStateException.class); // 인자가 없는 메소드는 시작 시점에 실패
+    }
+
+    @Test
+    void testRequestKeyResolverOutsideWebRequest() {
+        // when, then
+        assertThatThrownBy(() -> new HeaderKeyResolver().resolve(new Object[0]))
+            .isInstanceOf(IllegalStateException.class); // 웹 요청이 아니면 하나의 키로 묶지 않고 실패
+        assertThatThrownBy(() -> new PrincipalKeyResolver().resolve(new Object[0]))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testRequestKeyResolverFallsBackToRemoteAddress() {
+        // given
+        request("10.0.0.1", Map.of());
+
+        // when
+        String header = new HeaderKeyResolver().resolve(new Object[0]);
+        String principal = new PrincipalKeyResolver().resolve(new Object[0]);
+
+        // then
+        assertThat(header).isEqualTo("ip:10.0.0.1"); // 헤더가 없으면 클라이언트별로 나눔
+        assertThat(principal).isEqualTo("ip:10.0.0.1"); // 인증되지 않은 요청도 클라이언트별로 나눔
+    }
+
+    @Test
+    void testClientIpKeyResolverUsesRightMostForwardedAddress() {
+        // given
+        request("10.0.0.1", Map.of("X-Forwarded-For", "1.1.1.1, 2.2.2.2, 3.3.3.3"));
+
+        // when
+        String oneProxy = new ClientIpKeyResolver("X-Forwarded-For").resolve(new Object[0]);
+        String twoProxies = new ClientIpKeyResolver("X-Forwarded-For", 2).resolve(new Object[0]);
+
+        // then
+        assertThat(oneProxy).isEqualTo("ip:3.3.3.3"); // 클라이언트가 보낸 앞쪽 주소는 사용하지 않음
+        assertThat(twoProxies).isEqualTo("ip:2.2.2.2");
+    }
+
+    @Test
+    void testClientIpKeyResolverFallsBackToRemoteAddress() {
+        // given
+        request("10.0.0.1", Map.of("X-Forwarded-For", "3.3.3.3"));
+
+        // when
+        String key = new ClientIpKeyResolver("X-Forwarded-For", 2).resolve(new Object[0]);
+
+        // then
+        assertThat(key).isEqualTo("ip:10.0.0.1"); // 주소가 프록시 수보다 적으면 원격 주소
+    }
+
+    @Test
+    void testRequestKeysNamespacedByValueType() {
+        // given
+        request("10.0.0.1", Map.of("X-Api-Key", "ip:1.2.3.4"));
+
+        // when
+        String header = new HeaderKeyResolver().resolve(new Object[0]);
+
+        // then
+        assertThat(header).isEqualTo("hdr:ip:1.2.3.4"); // 헤더 값으로 다른 클라이언트의 주소 키를 흉내낼 수 없음
+        assertThat(header).isNotEqualTo(new ClientIpKeyResolver().resolve(new Object[0]));
+    }
+
+    /**
+     * 원격 주소와 헤더만 돌려주는 현재 요청
+     */
+    private void request(String remoteAddr, Map<String, String> headers) {
+        HttpServletRequest request = (HttpServletRequest)Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getRemoteAddr" -> remoteAddr;
+                case "getHeader" -> headers.get((String)args[0]);
+                default -> null;
+            });
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+}
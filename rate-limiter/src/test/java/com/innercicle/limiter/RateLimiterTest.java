@@ -0,0 +1,94 @@
+package com.innercicle.limiter;
+
+import com.innercicle.cache.LocalCacheTemplate;
+import com.innercicle.domain.BucketProperties;
+import com.innercicle.domain.RateLimitDecision;
+import com.innercicle.domain.RateUnit;
+import com.innercicle.domain.TokenBucketInfo;
+import com.innercicle.handler.RateLimitHandler;
+import com.innercicle.handler.TokenBucketHandler;
+import com.innercicle.lock.ConcurrentHashMapManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        BucketProperties bucketProperties = new BucketProperties();
+        bucketProperties.setCapacity(5);
+        bucketProperties.setRate(1);
+        bucketProperties.setRateUnit(RateUnit.HOUR); // 테스트 중에는 리필되지 않음
+        TokenBucketHandler handler = new TokenBucketHandler(new LocalCacheTemplate(bucketProperties, 100), bucketProperties);
+        rateLimiter = new RateLimiter(handler, new ConcurrentHashMapManager(), 0);
+    }
+
+    @Test
+    void testTryAcquireMultiplePermits() {
+        // when
+        RateLimitDecision allowed = rateLimiter.tryAcquire("batch", 3);
+        RateLimitDecision rejected = rateLimiter.tryAcquire("batch", 3);
+
+        // then
+        assertThat(allowed.isAllowed()).isTrue();
+        assertThat(allowed.getRemaining()).isEqualTo(2);
+        assertThat(rejected.isRejected()).isTrue();
+        assertThat(rejected.getRetryAfterNanos()).isPositive();
+        assertThat(rateLimiter.availablePermits("batch")).isEqualTo(2); // 거절된 요청은 차감하지 않음
+    }
+
+    @Test
+    void testAvailablePermitsDoesNotConsume() {
+        // when
+        long first = rateLimiter.availablePermits("peek");
+        long second = rateLimiter.availablePermits("peek");
+
+        // then
+        assertThat(first).isEqualTo(5);
+        assertThat(second).isEqualTo(5);
+    }
+
+    @Test
+    void testAcquireReturnsRejectionAfterTimeout() throws InterruptedException {
+        // given
+        rateLimiter.tryAcquire("wait", 5);
+
+        // when
+        RateLimitDecision decision = rateLimiter.acquire("wait", 1, Duration.ofMillis(20));
+
+        // then
+        assertThat(decision.isRejected()).isTrue(); // 리필 간격(1시간)이 대기 시간보다 길다.
+    }
+
+    @Test
+    void testAcquireMorePermitsThanCapacityFailsFast() {
+        // when, then
+        assertThatThrownBy(() -> rateLimiter.acquire("large", 6, Duration.ofHours(1)))
+            .isInstanceOf(IllegalArgumentException.class); // 기다려도 허용될 수 없으므로 대기하지 않음
+        assertThat(rateLimiter.availablePermits("large")).isEqualTo(5);
+    }
+
+    @Test
+    void testHandlerWithoutPermitsSupportRejected() {
+        // given
+        RateLimitHandler handler = key -> new TokenBucketInfo();
+
+        // when, then
+        assertThatThrownBy(() -> new RateLimiter(handler, new ConcurrentHashMapManager(), 0))
+            .isInstanceOf(IllegalArgumentException.class); // 조회, 여러 개 요청을 처리할 수 없는 핸들러는 생성 시점에 거절
+    }
+
+    @Test
+    void testNegativePermitsRejected() {
+        // when, then
+        assertThatThrownBy(() -> rateLimiter.tryAcquire("key", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.innercicle.lock;
+
+import com.innercicle.annotations.RateLimiting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class ConcurrentHashMapManagerTest {
+
+    private ConcurrentHashMapManager lockManager;
+    private RateLimiting rateLimiting;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        lockManager = new ConcurrentHashMapManager();
+        rateLimiting = getClass().getDeclaredMethod("limited").getAnnotation(RateLimiting.class);
+    }
+
+    @Test
+    void testHandleIsScopedToInvocation() throws Exception {
+        // given
+        LockHandle first = lockManager.getLock("key");
+        LockHandle second = lockManager.getLock("key");
+        assertThat(first.tryLock(rateLimiting)).isTrue();
+
+        // when
+        boolean acquired = CompletableFuture.supplyAsync(() -> {
+            try {
+                return second.tryLock(rateLimiting);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(acquired).isFalse(); // 다른 스레드의 핸들은 같은 키의 Lock 을 획득하지 못함
+        second.unlock();                // 획득하지 못한 핸들의 해제는 다른 핸들의 Lock 에 영향이 없음
+        first.unlock();
+        assertThat(lockManager.getLock("key").tryLock(rateLimiting)).isTrue();
+    }
+
+    @Test
+    void testLockEvictedAfterRelease() throws InterruptedException {
+        // given
+        LockHandle handle = lockManager.getLock("key");
+        handle.tryLock(rateLimiting);
+        assertThat(lockManager.size()).isEqualTo(1);
+
+        // when
+        handle.unlock();
+
+        // then
+        assertThat(lockManager.size()).isZero(); // 사용 중인 핸들이 없으면 Lock 제거
+    }
+
+    @Test
+    void testUnlockWithoutLockIsIgnored() {
+        // given
+        LockHandle handle = lockManager.getLock("key");
+
+        // when, then
+        assertThatCode(handle::unlock).doesNotThrowAnyException();
+    }
+
+    @RateLimiting(name = "limited", waitTime = 10L, timeUnit = TimeUnit.MILLISECONDS)
+    private void limited() {
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.innercicle.lock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLockManagerTest {
+
+    @Test
+    void testStripesRoundUpToPowerOfTwo() {
+        // given, when, then
+        assertThat(new StripedLockManager(1).stripes()).isEqualTo(1);
+        assertThat(new StripedLockManager(1000).stripes()).isEqualTo(1024);
+        assertThat(new StripedLockManager(1024).stripes()).isEqualTo(1024);
+    }
+
+    @Test
+    void testInvalidStripes() {
+        // when, then
+        assertThatThrownBy(() -> new StripedLockManager(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSameKeySameStripe() {
+        // given
+        StripedLockManager lockManager = new StripedLockManager(16);
+
+        // when
+        int first = lockManager.indexOf("user-1");
+        int second = lockManager.indexOf("user-1");
+
+        // then
+        assertThat(first).isEqualTo(second).isBetween(0, 15);
+    }
+
+}